@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+// Caching runs outside the transaction advice, so a cache hit does not borrow a connection; only the
+// service timers (MetricsConfig) wrap it
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+
+    public static final String DEPARTMENT_LIST = "departmentList";
+    public static final String DEPARTMENT = "department";
+    public static final String DEPARTMENT_ENTITY = "departmentEntity";
+    public static final String USER_CREDENTIALS = "userCredentials";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.department-spec}") String departmentSpec,
+            @Value("${app.cache.user-credentials-spec}") String userCredentialsSpec) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCacheSpecification(departmentSpec);
+        caffeine.setCacheNames(List.of(DEPARTMENT_LIST, DEPARTMENT, DEPARTMENT_ENTITY));
+        // Sized for a whole semester's login storm rather than a handful of departments
+        caffeine.registerCustomCache(USER_CREDENTIALS, Caffeine.from(userCredentialsSpec).build());
+        // Puts and evictions issued inside a transaction are applied after commit, so a rolled
+        // back write never reaches the cache
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
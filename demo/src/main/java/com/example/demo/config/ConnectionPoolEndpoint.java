@@ -0,0 +1,53 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+
+// /actuator/pool: a point-in-time view of every Hikari pool. Saturation near 1 with threads waiting
+// means requests are queueing for connections; the hikaricp.connections.* metrics show the history.
+@Component
+@Endpoint(id = "pool")
+@RequiredArgsConstructor
+public class ConnectionPoolEndpoint {
+
+    private final Map<String, DataSource> dataSources;
+
+    @ReadOperation
+    public Map<String, PoolStatus> pools() {
+        // Keyed by pool name: a proxy and the pool it wraps are reported once
+        Map<String, PoolStatus> pools = new TreeMap<>();
+        for (DataSource dataSource : dataSources.values()) {
+            HikariDataSource hikari = unwrap(dataSource);
+            // The pool MXBean is null until the first connection is requested
+            HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+            if (pool != null) {
+                int active = pool.getActiveConnections();
+                int max = hikari.getMaximumPoolSize();
+                pools.put(hikari.getPoolName(), new PoolStatus(active, pool.getIdleConnections(),
+                        pool.getTotalConnections(), max, pool.getThreadsAwaitingConnection(),
+                        max > 0 ? (double) active / max : 0.0));
+            }
+        }
+        return pools;
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    public record PoolStatus(int active, int idle, int total, int max, int threadsAwaiting, double saturation) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.data.metrics.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Boot's repository, method, state and exception tags on spring.data.repository.invocations, plus the
+// repository's entity, so StudentRepository and UserRepository calls can be summed per entity
+public class EntityRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+
+    private final Map<Class<?>, Tag> entityTags = new ConcurrentHashMap<>();
+
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        Tag entity = entityTags.computeIfAbsent(invocation.getRepositoryInterface(), repository -> Tag.of("entity",
+                AbstractRepositoryMetadata.getMetadata(repository).getDomainType().getSimpleName()));
+        return Tags.of(super.repositoryTags(invocation)).and(entity);
+    }
+}
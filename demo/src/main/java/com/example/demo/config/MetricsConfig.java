@@ -0,0 +1,73 @@
+package com.example.demo.config;
+
+import com.example.demo.web.RequestStatementMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.data.metrics.RepositoryTagsProvider;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+// Service timers, entity-tagged repository timers and per-page statement counts. Hibernate's own
+// statistics (hibernate.* meters) are bound by Boot once hibernate.generate_statistics is on.
+@Configuration
+public class MetricsConfig {
+
+    // Public methods of every @Service. Outermost advice, so cache hits and commit time are part of
+    // the measured call.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut publicServiceMethods = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        publicServiceMethods.setClassFilter(new AnnotationClassFilter(Service.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(publicServiceMethods,
+                new ServiceMetricsInterceptor(() -> meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        return new EntityRepositoryTagsProvider();
+    }
+
+    @Bean
+    public RequestStatementMetrics requestStatementMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RequestStatementMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(RequestStatementMetrics requestStatementMetrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatementMetrics);
+    }
+
+    @Bean
+    public WebMvcConfigurer requestStatementMetricsConfigurer(RequestStatementMetrics requestStatementMetrics) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(requestStatementMetrics).excludePathPatterns("/css/**", "/js/**", "/images/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import com.example.demo.security.PooledBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public PooledBCryptPasswordEncoder passwordEncoder(
+            @Value("${app.security.hashing.target-latency:250ms}") Duration targetLatency,
+            @Value("${app.security.hashing.min-strength:10}") int minStrength,
+            @Value("${app.security.hashing.max-strength:14}") int maxStrength,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:200}") int queueCapacity,
+            @Value("${app.security.hashing.max-wait:5s}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        int strength = PooledBCryptPasswordEncoder.calibrate(targetLatency, minStrength, maxStrength);
+        // BCrypt is pure CPU: more threads than cores only adds contention
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PooledBCryptPasswordEncoder(strength, poolSize, queueCapacity, maxWait,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// Where read-only transactions get their connection (see ReplicaDataSourceConfig): the replica while its
+// last lag check was within max-lag, otherwise the primary. Reads also stay on the primary for max-lag
+// after this instance commits a write, so the page shown right after a save never misses it.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements TransactionExecutionListener {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagNanos;
+
+    // Not trusted until the first lag check succeeds
+    private volatile boolean replicaInSync;
+    private volatile long lastWriteNanos;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, Duration maxLag) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagNanos = maxLag.toNanos();
+        this.lastWriteNanos = System.nanoTime() - maxLagNanos;
+    }
+
+    public boolean isReplicaInUse() {
+        return replicaInSync && System.nanoTime() - lastWriteNanos >= maxLagNanos;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isReplicaInUse() ? REPLICA : PRIMARY;
+    }
+
+    // The lag query returns the replica's delay in seconds; an error or null counts as out of sync
+    @Scheduled(fixedDelayString = "${app.datasource.replica-routing.check-interval-ms:5000}")
+    public void checkLag() {
+        boolean inSync;
+        try {
+            Double lagSeconds = replica.queryForObject(lagQuery, Double.class);
+            inSync = lagSeconds != null && lagSeconds * 1_000_000_000 <= maxLagNanos;
+        } catch (DataAccessException e) {
+            log.debug("Replica lag check failed", e);
+            inSync = false;
+        }
+        if (inSync != replicaInSync) {
+            if (inSync) {
+                log.info("Replica in sync, read-only transactions use the replica");
+            } else {
+                log.warn("Replica unreachable or lagging, read-only transactions use the primary");
+            }
+        }
+        replicaInSync = inSync;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            lastWriteNanos = System.nanoTime();
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package com.example.demo.config;
 
+import com.example.demo.security.ConcurrencyLimiter;
 import com.example.demo.security.CustomUserDetailsService;
+import com.example.demo.security.LoginRateLimitedException;
+import com.example.demo.security.RateLimitingAuthenticationProvider;
+import com.example.demo.security.SlidingWindowRateLimiter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.ExceptionMappingAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -20,18 +38,45 @@ import org.springframework.security.web.SecurityFilterChain;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final RequestMatcher API = PathPatternRequestMatcher.pathPattern("/api/**");
+    private static final RequestMatcher ACTUATOR = PathPatternRequestMatcher.pathPattern("/actuator/**");
+
     private final CustomUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.security.login.max-failures-per-user:5}")
+    private int maxFailuresPerUser;
+
+    @Value("${app.security.login.max-failures-per-ip:50}")
+    private int maxFailuresPerIp;
+
+    @Value("${app.security.login.failure-window:15m}")
+    private Duration failureWindow;
+
+    @Value("${app.security.login.max-concurrent-per-user:20}")
+    private int maxConcurrentPerUser;
+
+    @Value("${app.security.login.max-tracked-keys:100000}")
+    private long maxTrackedKeys;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public RateLimitingAuthenticationProvider authenticationProvider() {
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Hashes with an outdated cost factor are re-encoded after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
+        return new RateLimitingAuthenticationProvider(authProvider,
+                new SlidingWindowRateLimiter(maxFailuresPerUser, failureWindow, maxTrackedKeys),
+                new SlidingWindowRateLimiter(maxFailuresPerIp, failureWindow, maxTrackedKeys),
+                new ConcurrencyLimiter(maxConcurrentPerUser));
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+    public AuthenticationFailureHandler authenticationFailureHandler() {
+        ExceptionMappingAuthenticationFailureHandler handler = new ExceptionMappingAuthenticationFailureHandler();
+        handler.setExceptionMappings(Map.of(LoginRateLimitedException.class.getName(), "/login?locked"));
+        handler.setDefaultFailureUrl("/login?error");
+        return handler;
     }
 
     @Bean
@@ -39,7 +84,35 @@ public class SecurityConfig {
         return new ProviderManager(authenticationProvider());
     }
 
+    // Machine clients (the JSON API, and Prometheus scraping the actuator) authenticate on every request
+    // with HTTP Basic. No session is created or read, so there is no cookie to forge (hence no CSRF
+    // token) and no login page: the API answers a bare 401, the actuator a Basic challenge so it can
+    // still be opened in a browser.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(new OrRequestMatcher(API, ACTUATOR))
+                .authenticationProvider(authenticationProvider())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        // API reads follow the HTML pages; API writes and the other actuator endpoints are
+                        // teacher only
+                        .requestMatchers(HttpMethod.GET, "/api/v1/students/**", "/api/v1/courses/**")
+                                .hasAnyRole("TEACHER", "STUDENT")
+                        .anyRequest().hasRole("TEACHER"))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(csrf -> csrf.disable())
+                .exceptionHandling(exceptions -> exceptions
+                        .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED), API));
+
+        return http.build();
+    }
+
+    // The HTML pages: form login and session cookies only
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .authenticationProvider(authenticationProvider())
@@ -53,6 +126,7 @@ public class SecurityConfig {
                         .requestMatchers("/teachers/**").hasRole("TEACHER")
                         .requestMatchers("/departments/**").hasRole("TEACHER")
                         .requestMatchers("/courses/create", "/courses/edit/**", "/courses/delete/**").hasRole("TEACHER")
+                        .requestMatchers("/lookup/**").hasRole("TEACHER")
 
                         // Student endpoints - can only view and update own profile
                         .requestMatchers("/student/**").hasRole("STUDENT")
@@ -66,6 +140,7 @@ public class SecurityConfig {
                 .formLogin(form -> form
                         .loginPage("/login")
                         .defaultSuccessUrl("/dashboard", true)
+                        .failureHandler(authenticationFailureHandler())
                         .permitAll())
                 .logout(logout -> logout
                         .logoutSuccessUrl("/login?logout")
@@ -0,0 +1,47 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.util.function.Supplier;
+
+// Times every call to a service method: app.service.invocations tagged with the service, its entity
+// (StudentService -> Student), the method and the exception thrown, if any. The timer's count is the
+// call counter, so failures per method are the count with exception != none.
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "app.service.invocations";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    // Resolved on first use: the advisor is created before the registry exists
+    public ServiceMetricsInterceptor(Supplier<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.get();
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            String service = AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tag("service", service)
+                    .tag("entity", service.endsWith("Service")
+                            ? service.substring(0, service.length() - "Service".length())
+                            : service)
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import com.example.demo.web.RequestConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Active only when requests really run on virtual threads (Java 21 and spring.threads.virtual.enabled,
+// see the virtual-threads profile); on platform threads Tomcat's worker pool already bounds concurrency
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            // A request holds at most one connection at a time, so one permit per pooled connection
+            @Value("${app.concurrency.max-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxRequests,
+            @Value("${app.concurrency.max-wait:10s}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyLimitFilter(maxRequests, maxWait,
+                        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+        // Ahead of Spring Security: authentication loads users through the same pool
+        registration.setOrder(SecurityFilterProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.VersionStamp;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.ZoneId;
+
+// Conditional GET for the detail pages. The ETag is the entity version stamp plus a hash of the
+// session, because the page also carries the session's CSRF token and role-specific buttons; a new
+// login therefore never revalidates a page rendered for someone else. "private, no-cache" lets the
+// browser keep the page but makes it ask every time, and keeps shared caches from storing it.
+final class ConditionalViews {
+
+    private ConditionalViews() {
+    }
+
+    // True when the client's copy is current; the 304 is then already set up and the handler returns null
+    static boolean notModified(ServletWebRequest request, VersionStamp stamp) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        String etag = "W/\"" + stamp.getTag() + "-" + Integer.toHexString(request.getSessionId().hashCode()) + "\"";
+        long lastModified = stamp.getLastModified() != null
+                ? stamp.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        return request.checkNotModified(etag, lastModified);
+    }
+}
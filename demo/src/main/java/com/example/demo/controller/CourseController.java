@@ -2,13 +2,12 @@ package com.example.demo.controller;
 
 import com.example.demo.dto.CourseDTO;
 import com.example.demo.service.CourseService;
-import com.example.demo.service.DeptService;
-import com.example.demo.service.TeacherService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
@@ -17,8 +16,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class CourseController {
 
     private final CourseService courseService;
-    private final DeptService deptService;
-    private final TeacherService teacherService;
 
     @GetMapping
     public String listCourses(Model model) {
@@ -27,7 +24,10 @@ public class CourseController {
     }
 
     @GetMapping("/view/{id}")
-    public String viewCourse(@PathVariable Long id, Model model) {
+    public String viewCourse(@PathVariable Long id, ServletWebRequest request, Model model) {
+        if (ConditionalViews.notModified(request, courseService.getCourseVersionStamp(id))) {
+            return null;
+        }
         model.addAttribute("course", courseService.getCourseById(id));
         return "courses/view";
     }
@@ -36,8 +36,6 @@ public class CourseController {
     @PreAuthorize("hasRole('TEACHER')")
     public String showCreateForm(Model model) {
         model.addAttribute("course", new CourseDTO());
-        model.addAttribute("departments", deptService.getAllDepartments());
-        model.addAttribute("teachers", teacherService.getAllTeachers());
         return "courses/form";
     }
 
@@ -56,9 +54,8 @@ public class CourseController {
     @GetMapping("/edit/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public String showEditForm(@PathVariable Long id, Model model) {
+        // The pickers load their options from /lookup; only the current selections are rendered
         model.addAttribute("course", courseService.getCourseById(id));
-        model.addAttribute("departments", deptService.getAllDepartments());
-        model.addAttribute("teachers", teacherService.getAllTeachers());
         return "courses/form";
     }
 
@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import com.example.demo.service.DepartmentStatsService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
@@ -7,8 +9,11 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @Controller
+@RequiredArgsConstructor
 public class HomeController {
 
+    private final DepartmentStatsService departmentStatsService;
+
     @GetMapping("/")
     public String home() {
         return "home";
@@ -21,8 +26,13 @@ public class HomeController {
 
     @GetMapping("/dashboard")
     public String dashboard(@AuthenticationPrincipal UserDetails userDetails, Model model) {
+        String role = userDetails.getAuthorities().iterator().next().getAuthority();
         model.addAttribute("username", userDetails.getUsername());
-        model.addAttribute("role", userDetails.getAuthorities().iterator().next().getAuthority());
+        model.addAttribute("role", role);
+        if ("ROLE_TEACHER".equals(role)) {
+            // Precomputed counters, no roster scan on page view
+            model.addAttribute("departmentStats", departmentStatsService.getStats());
+        }
         return "dashboard";
     }
 }
@@ -0,0 +1,31 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.OptionDTO;
+import com.example.demo.search.PickerOptions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// JSON typeahead endpoints used by the course form instead of rendering every option into the page
+@RestController
+@RequestMapping("/lookup")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('TEACHER')")
+public class LookupController {
+
+    private final PickerOptions pickerOptions;
+
+    @GetMapping("/teachers")
+    public List<OptionDTO> teachers(@RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return pickerOptions.findTeachers(q, limit);
+    }
+
+    @GetMapping("/departments")
+    public List<OptionDTO> departments(@RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return pickerOptions.findDepartments(q, limit);
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.EnrollmentStatus;
 import com.example.demo.dto.StudentDTO;
+import com.example.demo.dto.StudentImportResult;
+import com.example.demo.dto.StudentPage;
+import com.example.demo.dto.StudentSearchPage;
 import com.example.demo.service.CourseService;
 import com.example.demo.service.DeptService;
+import com.example.demo.service.StudentImportService;
 import com.example.demo.service.StudentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,6 +16,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
@@ -21,15 +28,33 @@ public class StudentController {
     private final StudentService studentService;
     private final DeptService deptService;
     private final CourseService courseService;
+    private final StudentImportService studentImportService;
 
     @GetMapping
-    public String listStudents(Model model) {
-        model.addAttribute("students", studentService.getAllStudents());
+    public String listStudents(@RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(required = false) String q,
+            @RequestParam(name = "page", defaultValue = "0") int pageNumber,
+            Model model) {
+        if (q != null && !q.isBlank()) {
+            StudentSearchPage results = studentService.searchStudents(q.trim(), pageNumber, size);
+            model.addAttribute("students", results.getStudents());
+            model.addAttribute("search", results);
+            return "students/list";
+        }
+        StudentPage page = studentService.getStudentPage(after, before, size, sort);
+        model.addAttribute("students", page.getStudents());
+        model.addAttribute("page", page);
         return "students/list";
     }
 
     @GetMapping("/view/{id}")
-    public String viewStudent(@PathVariable Long id, Model model) {
+    public String viewStudent(@PathVariable Long id, ServletWebRequest request, Model model) {
+        if (ConditionalViews.notModified(request, studentService.getStudentVersionStamp(id))) {
+            return null;
+        }
         model.addAttribute("student", studentService.getStudentById(id));
         return "students/view";
     }
@@ -55,6 +80,29 @@ public class StudentController {
         return "redirect:/students";
     }
 
+    // Bulk roster import from CSV
+    @GetMapping("/import")
+    @PreAuthorize("hasRole('TEACHER')")
+    public String showImportForm() {
+        return "students/import";
+    }
+
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('TEACHER')")
+    public String importStudents(@RequestParam("file") MultipartFile file, Model model) {
+        if (file.isEmpty()) {
+            model.addAttribute("error", "Please choose a CSV file to import");
+            return "students/import";
+        }
+        try {
+            StudentImportResult result = studentImportService.importStudents(file.getInputStream());
+            model.addAttribute("result", result);
+        } catch (Exception e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        return "students/import";
+    }
+
     // Teacher can edit any student
     @GetMapping("/edit/{id}")
     @PreAuthorize("hasRole('TEACHER')")
@@ -129,8 +177,26 @@ public class StudentController {
             RedirectAttributes redirectAttributes) {
         try {
             StudentDTO student = studentService.getStudentByUsername(userDetails.getUsername());
-            studentService.enrollInCourse(student.getId(), courseId);
-            redirectAttributes.addFlashAttribute("success", "Enrolled in course successfully!");
+            EnrollmentStatus status = studentService.enrollInCourse(student.getId(), courseId);
+            redirectAttributes.addFlashAttribute("success", status == EnrollmentStatus.WAITLISTED
+                    ? "Course is full - you have been added to the waitlist."
+                    : "Enrolled in course successfully!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/courses";
+    }
+
+    // Drop a course or leave its waitlist
+    @PostMapping("/unenroll/{courseId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public String unenrollFromCourse(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long courseId,
+            RedirectAttributes redirectAttributes) {
+        try {
+            StudentDTO student = studentService.getStudentByUsername(userDetails.getUsername());
+            studentService.unenrollFromCourse(student.getId(), courseId);
+            redirectAttributes.addFlashAttribute("success", "Dropped course successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
         }
@@ -8,6 +8,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
@@ -26,7 +27,10 @@ public class TeacherController {
     }
 
     @GetMapping("/view/{id}")
-    public String viewTeacher(@PathVariable Long id, Model model) {
+    public String viewTeacher(@PathVariable Long id, ServletWebRequest request, Model model) {
+        if (ConditionalViews.notModified(request, teacherService.getTeacherVersionStamp(id))) {
+            return null;
+        }
         model.addAttribute("teacher", teacherService.getTeacherById(id));
         return "teachers/view";
     }
@@ -0,0 +1,52 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.service.DuplicateFieldException;
+import com.example.demo.service.InvalidRequestException;
+import com.example.demo.service.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+// The view controllers turn service exceptions into flash messages; the API returns them as problem details.
+// Spring MVC's own exceptions (malformed JSON, failed validation, bad path variables) keep their statuses
+// through ResponseEntityExceptionHandler.
+@RestControllerAdvice(basePackageClasses = ApiExceptionHandler.class)
+@Slf4j
+public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(DuplicateFieldException.class)
+    public ProblemDetail handleDuplicateFields(DuplicateFieldException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+        problem.setProperty("fieldErrors", e.getFieldErrors());
+        return problem;
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ProblemDetail handleNotFound(ResourceNotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ProblemDetail handleInvalidRequest(InvalidRequestException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    // Someone else saved the same row since it was read
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ProblemDetail handleConcurrentUpdate(ObjectOptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                "The record was changed by another request; reload it and try again");
+    }
+
+    // Anything else, constraint violations the services did not translate included, is a server fault;
+    // its message may carry SQL or Hibernate internals, so it only goes to the log
+    @ExceptionHandler(Exception.class)
+    public ProblemDetail handleUnexpected(Exception e) {
+        log.error("Unhandled API error", e);
+        return ProblemDetail.forStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
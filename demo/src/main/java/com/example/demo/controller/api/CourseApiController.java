@@ -0,0 +1,47 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.dto.CourseDTO;
+import com.example.demo.service.CourseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/api/v1/courses")
+@RequiredArgsConstructor
+public class CourseApiController {
+
+    private final CourseService courseService;
+    private final JsonArrayResponses jsonArrayResponses;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listCourses() {
+        return jsonArrayResponses.stream(courseService::forEachCourse);
+    }
+
+    @GetMapping("/{id}")
+    public CourseDTO getCourse(@PathVariable Long id) {
+        return courseService.getCourseById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<CourseDTO> createCourse(@RequestBody CourseDTO courseDTO) {
+        CourseDTO created = courseService.createCourse(courseDTO);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(created.getId()).toUri()).body(created);
+    }
+
+    @PutMapping("/{id}")
+    public CourseDTO updateCourse(@PathVariable Long id, @RequestBody CourseDTO courseDTO) {
+        return courseService.updateCourse(id, courseDTO);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteCourse(@PathVariable Long id) {
+        courseService.deleteCourse(id);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.dto.DeptDTO;
+import com.example.demo.service.DeptService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/departments")
+@RequiredArgsConstructor
+public class DepartmentApiController {
+
+    private final DeptService deptService;
+
+    // Not streamed: the department list is short and already cached
+    @GetMapping
+    public List<DeptDTO> listDepartments() {
+        return deptService.getAllDepartments();
+    }
+
+    @GetMapping("/{id}")
+    public DeptDTO getDepartment(@PathVariable Long id) {
+        return deptService.getDepartmentById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<DeptDTO> createDepartment(@RequestBody DeptDTO deptDTO) {
+        DeptDTO created = deptService.createDepartment(deptDTO);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(created.getId()).toUri()).body(created);
+    }
+
+    @PutMapping("/{id}")
+    public DeptDTO updateDepartment(@PathVariable Long id, @RequestBody DeptDTO deptDTO) {
+        return deptService.updateDepartment(id, deptDTO);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteDepartment(@PathVariable Long id) {
+        deptService.deleteDepartment(id);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.controller.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.function.Consumer;
+
+// Writes a JSON array element by element as the source produces rows, so a full listing is never
+// held in memory. The source runs on the async request thread, after the controller has returned.
+@Component
+@RequiredArgsConstructor
+public class JsonArrayResponses {
+
+    private final JsonMapper jsonMapper;
+
+    public ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<Object>> source) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = jsonMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                source.accept(generator::writePOJO);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
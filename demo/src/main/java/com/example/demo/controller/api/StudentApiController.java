@@ -0,0 +1,47 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.dto.StudentDTO;
+import com.example.demo.service.StudentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/api/v1/students")
+@RequiredArgsConstructor
+public class StudentApiController {
+
+    private final StudentService studentService;
+    private final JsonArrayResponses jsonArrayResponses;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listStudents() {
+        return jsonArrayResponses.stream(studentService::forEachStudent);
+    }
+
+    @GetMapping("/{id}")
+    public StudentDTO getStudent(@PathVariable Long id) {
+        return studentService.getStudentById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<StudentDTO> createStudent(@RequestBody StudentDTO studentDTO) {
+        StudentDTO created = studentService.createStudent(studentDTO);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(created.getId()).toUri()).body(created);
+    }
+
+    @PutMapping("/{id}")
+    public StudentDTO updateStudent(@PathVariable Long id, @RequestBody StudentDTO studentDTO) {
+        return studentService.updateStudent(id, studentDTO);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteStudent(@PathVariable Long id) {
+        studentService.deleteStudent(id);
+    }
+}
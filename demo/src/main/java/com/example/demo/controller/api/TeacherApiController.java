@@ -0,0 +1,47 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.dto.TeacherDTO;
+import com.example.demo.service.TeacherService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/api/v1/teachers")
+@RequiredArgsConstructor
+public class TeacherApiController {
+
+    private final TeacherService teacherService;
+    private final JsonArrayResponses jsonArrayResponses;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listTeachers() {
+        return jsonArrayResponses.stream(teacherService::forEachTeacher);
+    }
+
+    @GetMapping("/{id}")
+    public TeacherDTO getTeacher(@PathVariable Long id) {
+        return teacherService.getTeacherById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<TeacherDTO> createTeacher(@RequestBody TeacherDTO teacherDTO) {
+        TeacherDTO created = teacherService.createTeacher(teacherDTO);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(created.getId()).toUri()).body(created);
+    }
+
+    @PutMapping("/{id}")
+    public TeacherDTO updateTeacher(@PathVariable Long id, @RequestBody TeacherDTO teacherDTO) {
+        return teacherService.updateTeacher(id, teacherDTO);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteTeacher(@PathVariable Long id) {
+        teacherService.deleteTeacher(id);
+    }
+}
@@ -13,6 +13,8 @@ public class CourseDTO {
     private String code;
     private String description;
     private Integer credits;
+    private Integer capacity;
+    private Integer enrolledCount;
     private Long departmentId;
     private String departmentName;
     private Long teacherId;
@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.SortedMap;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentStatsDTO {
+    private Long departmentId;
+    private String departmentName;
+    private long students;
+    // Keyed by year of study; 0 collects students without a year
+    private SortedMap<Integer, Long> studentsByYear;
+    private long teachers;
+    private long courses;
+    // Sum over the department's courses of credits x enrolled students
+    private long enrolledCredits;
+
+    // Average number of the department's courses per teacher
+    public double getTeacherLoad() {
+        return teachers == 0 ? 0 : (double) courses / teachers;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+// One entry of a typeahead picker: the id submitted with the form and the text shown for it
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OptionDTO {
+    private Long id;
+    private String label;
+}
@@ -1,5 +1,6 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 @Getter
@@ -10,6 +11,8 @@ import lombok.*;
 public class StudentDTO {
     private Long id;
     private String username;
+    // Accepted on create and update through the JSON API, never written back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String email;
     private String firstName;
@@ -20,4 +23,12 @@ public class StudentDTO {
     private String address;
     private Long departmentId;
     private String departmentName;
+
+    // Used by JPQL constructor projections; the password hash never leaves the entity
+    public StudentDTO(Long id, String username, String email, String firstName, String lastName,
+            String phone, String studentId, Integer year, String address,
+            Long departmentId, String departmentName) {
+        this(id, username, null, email, firstName, lastName, phone, studentId, year, address,
+                departmentId, departmentName);
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportResult {
+    private int totalRows;
+    private int imported;
+    private List<RowError> errors = new ArrayList<>();
+    private long elapsedMillis;
+
+    public int getFailed() {
+        return errors.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private final int line;
+        private final String message;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentPage {
+    private List<StudentDTO> students;
+    private int size;
+    private String sort;
+    private String nextCursor;
+    private String prevCursor;
+}
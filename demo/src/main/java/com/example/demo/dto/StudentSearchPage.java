@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentSearchPage {
+    private List<StudentDTO> students;
+    private String query;
+    // Zero-based; search results are ranked, so they page by offset rather than by key
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
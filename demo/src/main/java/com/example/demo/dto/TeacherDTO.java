@@ -1,5 +1,6 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 @Getter
@@ -10,6 +11,8 @@ import lombok.*;
 public class TeacherDTO {
     private Long id;
     private String username;
+    // Accepted on create and update through the JSON API, never written back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String email;
     private String firstName;
@@ -19,4 +22,12 @@ public class TeacherDTO {
     private String specialization;
     private Long departmentId;
     private String departmentName;
+
+    // Used by JPQL constructor projections; the password hash never leaves the entity
+    public TeacherDTO(Long id, String username, String email, String firstName, String lastName,
+            String phone, String employeeId, String specialization,
+            Long departmentId, String departmentName) {
+        this(id, username, null, email, firstName, lastName, phone, employeeId, specialization,
+                departmentId, departmentName);
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.demo.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// What a detail page is rendered from, read by one primary key query without loading any entity.
+// The tag changes whenever the row or a joined row the page shows changes (including which row is
+// joined); lastModified is the latest update time among them.
+@Getter
+public class VersionStamp {
+
+    private final String tag;
+    private final LocalDateTime lastModified;
+
+    // A student or teacher and their department
+    public VersionStamp(Long version, LocalDateTime updatedAt,
+            Long departmentId, Long departmentVersion, LocalDateTime departmentUpdatedAt) {
+        this.tag = join(version, departmentId, departmentVersion);
+        this.lastModified = latest(updatedAt, departmentUpdatedAt);
+    }
+
+    // A course, its department and its teacher
+    public VersionStamp(Long version, LocalDateTime updatedAt,
+            Long departmentId, Long departmentVersion, LocalDateTime departmentUpdatedAt,
+            Long teacherId, Long teacherVersion, LocalDateTime teacherUpdatedAt) {
+        this.tag = join(version, departmentId, departmentVersion, teacherId, teacherVersion);
+        this.lastModified = latest(updatedAt, departmentUpdatedAt, teacherUpdatedAt);
+    }
+
+    private static String join(Long... parts) {
+        return Arrays.stream(parts)
+                .map(part -> part != null ? part.toString() : "-")
+                .collect(Collectors.joining("."));
+    }
+
+    private static LocalDateTime latest(LocalDateTime... times) {
+        return Arrays.stream(times).filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null);
+    }
+}
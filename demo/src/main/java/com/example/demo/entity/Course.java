@@ -2,11 +2,17 @@ package com.example.demo.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        @Index(name = "idx_courses_department_code", columnList = "department_id, code"),
+        @Index(name = "idx_courses_teacher", columnList = "teacher_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +21,8 @@ import java.util.Set;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,6 +35,15 @@ public class Course {
 
     private Integer credits;
 
+    // Maximum number of enrolled students; null means unlimited
+    private Integer capacity;
+
+    // Seats taken, maintained by atomic conditional UPDATEs in CourseRepository; never written from the
+    // entity, so saving a course loaded earlier cannot overwrite a concurrent reservation
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int enrolledCount;
+
     // Many Courses belong to One Department (M:1)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
@@ -38,7 +54,24 @@ public class Course {
     @JoinColumn(name = "teacher_id")
     private Teacher teacher;
 
-    // Many Courses have Many Students (M:M)
-    @ManyToMany(mappedBy = "courses", fetch = FetchType.LAZY)
-    private Set<Student> students = new HashSet<>();
+    // Many Courses have Many Students (M:M via the student_courses Enrollment entity)
+    @OneToMany(mappedBy = "course", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    @Builder.Default
+    private Set<Enrollment> enrollments = new HashSet<>();
+
+    @OneToMany(mappedBy = "course", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    @Builder.Default
+    private Set<WaitlistEntry> waitlistEntries = new HashSet<>();
+
+    // The seat UPDATEs in CourseRepository bump both by hand, since they bypass the entity
+    @Version
+    private Long version;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+// One row of the student_courses join table, mapped as an entity so enrolling
+// or unenrolling touches a single row instead of the whole Student.courses set
+@Entity
+@Table(name = "student_courses",
+        indexes = @Index(name = "idx_student_courses_course", columnList = "course_id, student_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class Enrollment implements Persistable<EnrollmentId> {
+
+    @EmbeddedId
+    private EnrollmentId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("studentId")
+    @JoinColumn(name = "student_id")
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("courseId")
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    // Assigned ids would otherwise make save() run a SELECT before the INSERT
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    public Enrollment(Student student, Course course) {
+        this.id = new EnrollmentId(student.getId(), course.getId());
+        this.student = student;
+        this.course = course;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -6,13 +6,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students",
+        uniqueConstraints = @UniqueConstraint(name = Student.UK_STUDENT_ID, columnNames = "student_id"),
+        indexes = @Index(name = "idx_students_department", columnList = "department_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student extends User {
 
+    public static final String UK_STUDENT_ID = "uk_students_student_id";
+
     private String studentId;
 
     @Column(name = "student_year")
@@ -25,10 +29,12 @@ public class Student extends User {
     @JoinColumn(name = "department_id")
     private Dept department;
 
-    // Many Students enroll in Many Courses (M:M)
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(name = "student_courses", joinColumns = @JoinColumn(name = "student_id"), inverseJoinColumns = @JoinColumn(name = "course_id"))
-    private Set<Course> courses = new HashSet<>();
+    // Many Students enroll in Many Courses (M:M via the student_courses Enrollment entity)
+    @OneToMany(mappedBy = "student", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    private Set<Enrollment> enrollments = new HashSet<>();
+
+    @OneToMany(mappedBy = "student", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    private Set<WaitlistEntry> waitlistEntries = new HashSet<>();
 
     @Builder
     public Student(Long id, String username, String password, String email,
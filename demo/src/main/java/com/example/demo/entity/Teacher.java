@@ -6,13 +6,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "teachers")
+@Table(name = "teachers",
+        uniqueConstraints = @UniqueConstraint(name = Teacher.UK_EMPLOYEE_ID, columnNames = "employee_id"),
+        indexes = @Index(name = "idx_teachers_department", columnList = "department_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Teacher extends User {
 
+    public static final String UK_EMPLOYEE_ID = "uk_teachers_employee_id";
+
     private String employeeId;
 
     private String specialization;
@@ -3,26 +3,38 @@ package com.example.demo.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email")
+})
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
+// JOINED by default; the single-table profile remaps the hierarchy in META-INF/orm-single-table.xml,
+// so fields added here, in Student or in Teacher must be added there too
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class User {
 
+    // Constraint names are matched when translating insert failures into field errors
+    public static final String UK_USERNAME = "uk_users_username";
+    public static final String UK_EMAIL = "uk_users_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: one nextval per 50 rows, and inserts can be JDBC-batched (IDENTITY cannot)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false)
     private String password;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     private String firstName;
@@ -36,4 +48,30 @@ public abstract class User {
     private Role role;
 
     private boolean enabled = true;
+
+    // Optimistic lock, and with updatedAt what the detail pages' ETag and Last-Modified are built from
+    @Version
+    private Long version;
+
+    private LocalDateTime updatedAt;
+
+    // version and updatedAt are maintained by Hibernate, so the subclass builders never set them
+    protected User(Long id, String username, String password, String email, String firstName,
+            String lastName, String phone, Role role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phone = phone;
+        this.role = role;
+        this.enabled = enabled;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A student queued for a full course; queue order is (joinedAt, id) within each course
+@Entity
+@Table(name = "course_waitlist",
+        uniqueConstraints = @UniqueConstraint(name = "uk_course_waitlist_course_student",
+                columnNames = { "course_id", "student_id" }),
+        indexes = {
+                @Index(name = "idx_course_waitlist_position", columnList = "course_id, joined_at, id"),
+                @Index(name = "idx_course_waitlist_student", columnList = "student_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_waitlist_seq")
+    @SequenceGenerator(name = "course_waitlist_seq", sequenceName = "course_waitlist_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id")
+    private Student student;
+
+    @Column(nullable = false)
+    private LocalDateTime joinedAt;
+
+    public WaitlistEntry(Student student, Course course) {
+        this.student = student;
+        this.course = course;
+        this.joinedAt = LocalDateTime.now();
+    }
+}
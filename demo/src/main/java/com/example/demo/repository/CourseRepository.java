@@ -1,11 +1,24 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.CourseDTO;
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.entity.Course;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -16,4 +29,70 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByTeacherId(Long teacherId);
 
     boolean existsByCode(String code);
+
+    // Constructor projection: course, department and teacher name in a single joined SELECT
+    String SUMMARY_SELECT = "select new com.example.demo.dto.CourseDTO(c.id, c.name, c.code, c.description, "
+            + "c.credits, c.capacity, c.enrolledCount, d.id, d.name, t.id, "
+            + "case when t.id is null then null else concat(t.firstName, ' ', t.lastName) end) "
+            + "from Course c left join c.department d left join c.teacher t ";
+
+    @Query(SUMMARY_SELECT + "order by c.code")
+    List<CourseDTO> findAllSummaries();
+
+    // Cursor for the JSON API's full listing, see StudentRepository.streamAllSummaries
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "order by c.code")
+    Stream<CourseDTO> streamAllSummaries();
+
+    @Query(SUMMARY_SELECT + "where d.id = :departmentId order by c.code")
+    List<CourseDTO> findSummariesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query(SUMMARY_SELECT + "where c.id = :id")
+    Optional<CourseDTO> findSummaryById(@Param("id") Long id);
+
+    // Conditional GET of courses/view, which also shows the department and teacher names
+    @Query("select new com.example.demo.dto.VersionStamp(c.version, c.updatedAt, d.id, d.version, d.updatedAt, "
+            + "t.id, t.version, t.updatedAt) "
+            + "from Course c left join c.department d left join c.teacher t where c.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    // Bulk UPDATEs bypass @Version and the entity callbacks, so the seat counters bump both themselves
+    // (enrolledCount is shown on the course page, whose ETag comes from the version)
+    String TOUCH = "c.version = c.version + 1, c.updatedAt = local datetime ";
+
+    // Takes a seat only while one is free and nobody is waiting for it; the row lock held by the UPDATE
+    // serializes racing enrollments on the same course, so a section can never be oversubscribed, and a
+    // seat freed for the waitlist goes to the head of the queue rather than to whoever asks next
+    @Modifying
+    @Query("update Course c set c.enrolledCount = c.enrolledCount + 1, " + TOUCH
+            + "where c.id = :id and (c.capacity is null or c.enrolledCount < c.capacity) "
+            + "and not exists (select w.id from WaitlistEntry w where w.course.id = c.id)")
+    int reserveSeat(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Course c set c.enrolledCount = c.enrolledCount - 1, " + TOUCH
+            + "where c.id = :id and c.enrolledCount > 0")
+    int releaseSeat(@Param("id") Long id);
+
+    // One seat back in each course, when a student is deleted together with their enrollments
+    @Modifying
+    @Query("update Course c set c.enrolledCount = c.enrolledCount - 1, " + TOUCH
+            + "where c.id in :ids and c.enrolledCount > 0")
+    int releaseSeats(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Course c set c.enrolledCount = c.enrolledCount + :count, " + TOUCH + "where c.id = :id")
+    int addEnrolled(@Param("id") Long id, @Param("count") int count);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Course c where c.id = :id")
+    Optional<Course> findByIdForUpdate(@Param("id") Long id);
+
+    // Loads the course for editing together with both associations convertToDTO reads
+    @EntityGraph(attributePaths = { "department", "teacher" })
+    Optional<Course> findWithDepartmentAndTeacherById(Long id);
+
+    // Rows of (course id, department id, credits, enrolled count) for DepartmentStatsService.refresh
+    @Query("select c.id, d.id, c.credits, c.enrolledCount from Course c left join c.department d")
+    List<Object[]> findEnrollmentTotals();
 }
@@ -1,13 +1,36 @@
 package com.example.demo.repository;
 
+import com.example.demo.config.CacheConfig;
 import com.example.demo.entity.Dept;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DeptRepository extends JpaRepository<Dept, Long> {
+    // Cached for the department lookups done on every student, teacher and course save;
+    // the instance is detached and shared, so callers must not modify it
+    @Override
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENT_ENTITY, key = "#p0", unless = "#result == null")
+    Optional<Dept> findById(Long id);
+
+    // Departments are listed, indexed and converted to DTOs, never modified through this list
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Dept> findAll();
+
+    // Not cached: read by the picker's after-commit listener, which runs before the cache is evicted
+    @Query("select d.name from Dept d where d.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+
     Optional<Dept> findByName(String name);
 
     boolean existsByName(String name);
@@ -0,0 +1,27 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Enrollment;
+import com.example.demo.entity.EnrollmentId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, EnrollmentId> {
+
+    @Query("select e.id.courseId from Enrollment e where e.id.studentId = :studentId")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+
+    // Rows of (course id, seats) held by the students of one department
+    @Query("select e.id.courseId, count(e) from Enrollment e where e.student.department.id = :departmentId "
+            + "group by e.id.courseId")
+    List<Object[]> countSeatsByCourseForDepartment(@Param("departmentId") Long departmentId);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.id.studentId = :studentId and e.id.courseId = :courseId")
+    int deleteByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+}
@@ -1,14 +1,26 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.StudentDTO;
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    // Only ever read into a DTO: loaded read-only, without a dirty-checking snapshot
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Optional<Student> findByUsername(String username);
 
     Optional<Student> findByStudentId(String studentId);
@@ -16,4 +28,70 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByDepartmentId(Long departmentId);
 
     boolean existsByStudentId(String studentId);
+
+    // Every unique field that is already taken, in one round trip; each branch is a unique index lookup
+    @Query("select 'username' from User u where u.username = :username "
+            + "union all select 'email' from User u where u.email = :email "
+            + "union all select 'studentId' from Student s where s.studentId = :studentId")
+    List<String> findConflictingFields(@Param("username") String username, @Param("email") String email,
+            @Param("studentId") String studentId);
+
+    // Rows of (department id, year, count) for DepartmentStatsService.refresh
+    @Query("select d.id, s.year, count(s) from Student s join s.department d group by d.id, s.year")
+    List<Object[]> countByDepartmentAndYear();
+
+    @Query("select s.username from Student s where s.department.id = :departmentId")
+    List<String> findUsernamesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query("select s.studentId from Student s where s.studentId in :studentIds")
+    List<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
+
+    // Constructor projection: student, user and department columns in a single joined SELECT
+    String SUMMARY_SELECT = "select new com.example.demo.dto.StudentDTO(s.id, s.username, s.email, "
+            + "s.firstName, s.lastName, s.phone, s.studentId, s.year, s.address, d.id, d.name) "
+            + "from Student s left join s.department d ";
+
+    @Query(SUMMARY_SELECT + "order by s.lastName, s.id")
+    List<StudentDTO> findAllSummaries();
+
+    // Cursor for the JSON API's full listing: the driver hands rows over in batches of the fetch size
+    // instead of buffering the whole result (Postgres honours it only inside a transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "order by s.lastName, s.id")
+    Stream<StudentDTO> streamAllSummaries();
+
+    @Query(SUMMARY_SELECT + "where d.id = :departmentId order by s.lastName, s.id")
+    List<StudentDTO> findSummariesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    // Conditional GET of students/view: the versions of the student and the department it shows
+    @Query("select new com.example.demo.dto.VersionStamp(s.version, s.updatedAt, d.id, d.version, d.updatedAt) "
+            + "from Student s left join s.department d where s.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + "where s.id = :id")
+    Optional<StudentDTO> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + "where s.id in :ids")
+    List<StudentDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset (seek) pagination over (lastName, id); the Pageable only carries the row limit. A missing
+    // last name sorts as "", so those students stay reachable and their cursors point at the right place.
+    // Served by the idx_users_sort_name_id expression index, which must match SORT_NAME.
+    String SORT_NAME = "coalesce(s.lastName, '')";
+
+    @Query(SUMMARY_SELECT + "order by " + SORT_NAME + " asc, s.id asc")
+    List<StudentDTO> findFirstPageAscending(Pageable limit);
+
+    @Query(SUMMARY_SELECT + "order by " + SORT_NAME + " desc, s.id desc")
+    List<StudentDTO> findFirstPageDescending(Pageable limit);
+
+    @Query(SUMMARY_SELECT
+            + "where " + SORT_NAME + " >= :lastName and (" + SORT_NAME + " > :lastName or s.id > :id) "
+            + "order by " + SORT_NAME + " asc, s.id asc")
+    List<StudentDTO> findPageAfter(@Param("lastName") String lastName, @Param("id") Long id, Pageable limit);
+
+    @Query(SUMMARY_SELECT
+            + "where " + SORT_NAME + " <= :lastName and (" + SORT_NAME + " < :lastName or s.id < :id) "
+            + "order by " + SORT_NAME + " desc, s.id desc")
+    List<StudentDTO> findPageBefore(@Param("lastName") String lastName, @Param("id") Long id, Pageable limit);
 }
@@ -1,19 +1,69 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.TeacherDTO;
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.entity.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+    // See StudentRepository.findByUsername
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Optional<Teacher> findByUsername(String username);
 
     Optional<Teacher> findByEmployeeId(String employeeId);
 
     List<Teacher> findByDepartmentId(Long departmentId);
 
+    @Query("select t.id from Teacher t where t.department.id = :departmentId")
+    List<Long> findIdsByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query("select t.username from Teacher t where t.department.id = :departmentId")
+    List<String> findUsernamesByDepartmentId(@Param("departmentId") Long departmentId);
+
     boolean existsByEmployeeId(String employeeId);
+
+    // Every unique field that is already taken, in one round trip; each branch is a unique index lookup
+    @Query("select 'username' from User u where u.username = :username "
+            + "union all select 'email' from User u where u.email = :email "
+            + "union all select 'employeeId' from Teacher t where t.employeeId = :employeeId")
+    List<String> findConflictingFields(@Param("username") String username, @Param("email") String email,
+            @Param("employeeId") String employeeId);
+
+    // Constructor projection: teacher, user and department columns in a single joined SELECT
+    String SUMMARY_SELECT = "select new com.example.demo.dto.TeacherDTO(t.id, t.username, t.email, "
+            + "t.firstName, t.lastName, t.phone, t.employeeId, t.specialization, d.id, d.name) "
+            + "from Teacher t left join t.department d ";
+
+    @Query(SUMMARY_SELECT + "order by t.lastName, t.id")
+    List<TeacherDTO> findAllSummaries();
+
+    // Cursor for the JSON API's full listing, see StudentRepository.streamAllSummaries
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "order by t.lastName, t.id")
+    Stream<TeacherDTO> streamAllSummaries();
+
+    @Query(SUMMARY_SELECT + "where d.id = :departmentId order by t.lastName, t.id")
+    List<TeacherDTO> findSummariesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query("select new com.example.demo.dto.VersionStamp(t.version, t.updatedAt, d.id, d.version, d.updatedAt) "
+            + "from Teacher t left join t.department d where t.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + "where t.id = :id")
+    Optional<TeacherDTO> findSummaryById(@Param("id") Long id);
+
+    // Rows of (department id, count) for DepartmentStatsService.refresh
+    @Query("select d.id, count(t) from Teacher t join t.department d group by d.id")
+    List<Object[]> countByDepartment();
 }
@@ -1,13 +1,23 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // See StudentRepository.findByUsername
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
@@ -15,4 +25,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    @Query("select u.username from User u where u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    // Bulk uniqueness checks: one query per chunk instead of one per row
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,42 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    boolean existsByCourseIdAndStudentId(Long courseId, Long studentId);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.course.id = :courseId and w.student.id = :studentId")
+    int deleteByCourseIdAndStudentId(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    // Courses with students waiting and seats free, whether or not a SeatReleasedEvent reached the promoter
+    @Query("select distinct c.id from WaitlistEntry w join w.course c "
+            + "where c.capacity is null or c.enrolledCount < c.capacity")
+    List<Long> findCourseIdsWithFreeSeats();
+
+    // Head of the queue, served by the (course_id, joined_at, id) index
+    @Query("select w.id from WaitlistEntry w where w.course.id = :courseId order by w.joinedAt, w.id")
+    List<Long> findHeadIds(@Param("courseId") Long courseId, Pageable limit);
+
+    // Promotes a whole batch with one INSERT ... SELECT; rows already enrolled are skipped
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into student_courses (student_id, course_id) "
+            + "select w.student_id, w.course_id from course_waitlist w "
+            + "where w.id in (:ids) and not exists (select 1 from student_courses e "
+            + "where e.student_id = w.student_id and e.course_id = w.course_id)")
+    int enrollAll(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.id in :ids")
+    int deleteAllByIds(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,91 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.DeptDTO;
+import com.example.demo.dto.StudentDTO;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.service.DeptService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+// Postgres search: every query token must appear in one of the fields. Each token is a UNION of one
+// subquery per table, so each branch is an OR over a single table's columns that the planner serves with a
+// BitmapOr of the GIN trigram indexes from db/vendor/postgresql ("lower(x) like '%token%'" and the trigram
+// operator both use them); one OR across the joined tables could only be checked row by row. Department
+// names are resolved against the cached department list, so the department condition is an id lookup.
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DatabaseStudentSearch implements StudentSearch {
+
+    // More tokens than this adds conditions without narrowing the result in practice
+    private static final int MAX_TOKENS = 3;
+    // Below three characters trigram matching is meaningless
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final DeptService deptService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentDTO> search(String query, int offset, int limit) {
+        List<String> tokens = PrefixIndex.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        tokens = tokens.subList(0, Math.min(tokens.size(), MAX_TOKENS));
+
+        StringBuilder jpql = new StringBuilder(StudentRepository.SUMMARY_SELECT);
+        for (int i = 0; i < tokens.size(); i++) {
+            // User and Student rather than table names, so the single-table layout gets the same shape
+            jpql.append(i == 0 ? "where " : " and ")
+                    .append("s.id in (select u.id from User u where lower(u.firstName) like :contains").append(i)
+                    .append(" or lower(u.lastName) like :contains").append(i)
+                    .append(" or lower(u.email) like :contains").append(i);
+            if (tokens.get(i).length() >= MIN_FUZZY_LENGTH) {
+                jpql.append(" or trgm_match(lower(u.lastName), :token").append(i).append(") = true");
+            }
+            jpql.append(" union select st.id from Student st where lower(st.studentId) like :contains").append(i);
+            if (!departmentIds(tokens.get(i)).isEmpty()) {
+                jpql.append(" or st.department.id in :departments").append(i);
+            }
+            jpql.append(")");
+        }
+        // Exact student ID first, then name prefixes, email prefixes, and the rest by closeness of the last name
+        jpql.append(" order by case when lower(s.studentId) = :token0 then 0"
+                + " when lower(s.lastName) like :prefix0 or lower(s.firstName) like :prefix0 then 1"
+                + " when lower(s.email) like :prefix0 then 2 else 3 end,"
+                + " similarity(lower(s.lastName), :token0) desc, s.lastName, s.id");
+
+        TypedQuery<StudentDTO> typedQuery = entityManager.createQuery(jpql.toString(), StudentDTO.class);
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            typedQuery.setParameter("contains" + i, "%" + token + "%");
+            if (i == 0 || token.length() >= MIN_FUZZY_LENGTH) {
+                typedQuery.setParameter("token" + i, token);
+            }
+            List<Long> departmentIds = departmentIds(token);
+            if (!departmentIds.isEmpty()) {
+                typedQuery.setParameter("departments" + i, departmentIds);
+            }
+        }
+        typedQuery.setParameter("prefix0", tokens.get(0) + "%");
+        return typedQuery.setFirstResult(offset).setMaxResults(limit).getResultList();
+    }
+
+    private List<Long> departmentIds(String token) {
+        return deptService.getAllDepartments().stream()
+                .filter(dept -> dept.getName() != null && dept.getName().toLowerCase(Locale.ROOT).contains(token))
+                .map(DeptDTO::getId)
+                .toList();
+    }
+}
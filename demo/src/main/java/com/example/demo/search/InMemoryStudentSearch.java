@@ -0,0 +1,69 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.StudentDTO;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.service.StudentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Search without database support (H2 in tests): a PrefixIndex kept in step with committed student
+// changes. The index only ranks ids; the page itself is loaded by primary key, so results are never stale.
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryStudentSearch implements StudentSearch {
+
+    private final StudentRepository studentRepository;
+
+    private final PrefixIndex index = new PrefixIndex();
+
+    @Override
+    public List<StudentDTO> search(String query, int offset, int limit) {
+        List<Long> ids = index.search(query);
+        if (offset >= ids.size()) {
+            return List.of();
+        }
+        List<Long> pageIds = ids.subList(offset, Math.min(ids.size(), offset + limit));
+
+        Map<Long, StudentDTO> rows = new HashMap<>();
+        for (StudentDTO student : studentRepository.findSummariesByIdIn(pageIds)) {
+            rows.put(student.getId(), student);
+        }
+        // Keep the index's ranking; a student deleted since the lookup is simply skipped
+        return pageIds.stream().map(rows::get).filter(Objects::nonNull).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        studentRepository.findAllSummaries().forEach(this::put);
+        log.info("Student search index built with {} students", index.size());
+    }
+
+    @TransactionalEventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getStudentId() == null) {
+            rebuild();
+            return;
+        }
+        studentRepository.findSummaryById(event.getStudentId())
+                .ifPresentOrElse(this::put, () -> index.remove(event.getStudentId()));
+    }
+
+    private void put(StudentDTO student) {
+        index.put(student.getId(), student.getLastName() + " " + student.getFirstName(),
+                student.getFirstName(), student.getLastName(), student.getEmail(),
+                student.getStudentId(), student.getDepartmentName());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.OptionDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// A PrefixIndex that also keeps the display label per id, so a typeahead lookup is answered
+// without touching the database
+public class PickerIndex {
+
+    private final PrefixIndex index = new PrefixIndex();
+    private final Map<Long, String> labels = new ConcurrentHashMap<>();
+
+    public synchronized void put(long id, String label, String sortKey, String... values) {
+        index.put(id, sortKey, values);
+        labels.put(id, label);
+    }
+
+    public synchronized void remove(long id) {
+        index.remove(id);
+        labels.remove(id);
+    }
+
+    public synchronized void clear() {
+        index.clear();
+        labels.clear();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public List<OptionDTO> lookup(String query, int limit) {
+        List<OptionDTO> options = new ArrayList<>(limit);
+        for (Long id : index.search(query)) {
+            if (options.size() == limit) {
+                break;
+            }
+            String label = labels.get(id);
+            // Removed between the search and here
+            if (label != null) {
+                options.add(new OptionDTO(id, label));
+            }
+        }
+        return options;
+    }
+
+    public String label(Long id) {
+        return id != null ? labels.get(id) : null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.OptionDTO;
+import com.example.demo.dto.TeacherDTO;
+import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.TeacherRepository;
+import com.example.demo.service.DepartmentChangedEvent;
+import com.example.demo.service.TeacherChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// Typeahead options for the course form's teacher and department pickers. Both indexes are built
+// once at startup and then updated one entry at a time from committed changes.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PickerOptions {
+
+    public static final int MAX_OPTIONS = 50;
+
+    private final TeacherRepository teacherRepository;
+    private final DeptRepository deptRepository;
+
+    private final PickerIndex teachers = new PickerIndex();
+    private final PickerIndex departments = new PickerIndex();
+
+    public List<OptionDTO> findTeachers(String query, int limit) {
+        return teachers.lookup(query, Math.max(1, Math.min(limit, MAX_OPTIONS)));
+    }
+
+    public List<OptionDTO> findDepartments(String query, int limit) {
+        return departments.lookup(query, Math.max(1, Math.min(limit, MAX_OPTIONS)));
+    }
+
+    public String teacherLabel(Long id) {
+        return teachers.label(id);
+    }
+
+    public String departmentLabel(Long id) {
+        return departments.label(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        teachers.clear();
+        teacherRepository.findAllSummaries().forEach(this::putTeacher);
+        departments.clear();
+        deptRepository.findAll().forEach(dept -> putDepartment(dept.getId(), dept.getName()));
+        log.info("Picker indexes built with {} teachers and {} departments", teachers.size(), departments.size());
+    }
+
+    @TransactionalEventListener
+    public void onTeacherChanged(TeacherChangedEvent event) {
+        teacherRepository.findSummaryById(event.getTeacherId())
+                .ifPresentOrElse(this::putTeacher, () -> teachers.remove(event.getTeacherId()));
+    }
+
+    @TransactionalEventListener
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        Long id = event.getDepartmentId();
+        deptRepository.findNameById(id)
+                .ifPresentOrElse(name -> putDepartment(id, name), () -> departments.remove(id));
+    }
+
+    private void putTeacher(TeacherDTO teacher) {
+        String name = teacher.getFirstName() + " " + teacher.getLastName();
+        String label = teacher.getEmployeeId() != null ? name + " (" + teacher.getEmployeeId() + ")" : name;
+        teachers.put(teacher.getId(), label, teacher.getLastName() + " " + teacher.getFirstName(),
+                teacher.getFirstName(), teacher.getLastName(), teacher.getEmployeeId(), teacher.getEmail());
+    }
+
+    private void putDepartment(Long id, String name) {
+        departments.put(id, name, name, name);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.search;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// In-process token prefix index over a few text fields per id. A match must have, for every query
+// token, an indexed token starting with it. Each query token is one range scan of a sorted map, so
+// the cost follows the number of matching tokens, not the number of ids indexed.
+public class PrefixIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // token -> ids having that token
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Replaces whatever was indexed for the id; sortKey orders equally ranked matches
+    public synchronized void put(long id, String sortKey, String... values) {
+        remove(id);
+        Set<String> tokens = new HashSet<>();
+        for (String value : values) {
+            tokens.addAll(tokenize(value));
+        }
+        entries.put(id, new Entry(sortKey != null ? sortKey.toLowerCase(Locale.ROOT) : "", tokens));
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.tokens()) {
+            postings.computeIfPresent(token, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Matching ids, best first: a query token equal to an indexed token scores 2, a prefix scores 1;
+    // ties are ordered by sort key, then id
+    public List<Long> search(String query) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String queryToken : queryTokens) {
+            Map<Long, Integer> matches = new HashMap<>();
+            for (Map.Entry<String, Set<Long>> posting
+                    : postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).entrySet()) {
+                int score = posting.getKey().equals(queryToken) ? 2 : 1;
+                for (Long id : posting.getValue()) {
+                    matches.merge(id, score, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((id, score) -> score + matches.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Comparator.<Map.Entry<Long, Integer>>comparingInt(match -> -match.getValue())
+                .thenComparing(match -> sortKey(match.getKey()))
+                .thenComparing(Map.Entry::getKey));
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, Integer> match : ranked) {
+            ids.add(match.getKey());
+        }
+        return ids;
+    }
+
+    // Lowercased letter/digit runs: "John.Doe@example.com" -> [john, doe, example, com]
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private String sortKey(Long id) {
+        Entry entry = entries.get(id);
+        return entry != null ? entry.sortKey() : "";
+    }
+
+    private record Entry(String sortKey, Set<String> tokens) {
+    }
+}
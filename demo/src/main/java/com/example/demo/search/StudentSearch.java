@@ -0,0 +1,12 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.StudentDTO;
+
+import java.util.List;
+
+// Ranked student search over name, email, student ID and department name.
+// Implementations are picked by app.search.engine: "database" (Postgres trigram indexes) or "memory".
+public interface StudentSearch {
+
+    List<StudentDTO> search(String query, int offset, int limit);
+}
@@ -0,0 +1,25 @@
+package com.example.demo.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+// Makes the pg_trgm operator and ranking function callable from JPQL on Postgres:
+// trgm_match(a, b) renders "a % b" (the index-assisted fuzzy match), similarity(a, b) ranks it.
+// Registered through META-INF/services.
+public class TrigramFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        if (!(functionContributions.getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry()
+                .registerPattern("trgm_match", "(?1 % ?2)", types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry()
+                .registerPattern("similarity", "similarity(?1, ?2)", types.resolve(StandardBasicTypes.FLOAT));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Caps how many calls per key are in progress at once. A key's entry is dropped when its last call
+// leaves, so the map only holds keys with work in flight.
+public class ConcurrencyLimiter {
+
+    private final int limit;
+    private final ConcurrentMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiter(int limit) {
+        this.limit = limit;
+    }
+
+    // Every successful tryEnter must be paired with an exit
+    public boolean tryEnter(String key) {
+        boolean[] entered = new boolean[1];
+        inFlight.compute(key, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= limit) {
+                return count;
+            }
+            entered[0] = true;
+            return current + 1;
+        });
+        return entered[0];
+    }
+
+    public void exit(String key) {
+        inFlight.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+}
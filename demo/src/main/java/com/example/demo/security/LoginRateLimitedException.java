@@ -0,0 +1,10 @@
+package com.example.demo.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+public class LoginRateLimitedException extends AuthenticationException {
+
+    public LoginRateLimitedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.security;
+
+// Thrown when the hashing pool is saturated and a caller could not be admitted in time
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
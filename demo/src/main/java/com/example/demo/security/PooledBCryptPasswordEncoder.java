@@ -0,0 +1,145 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCrypt on a dedicated, bounded pool: at most `threads` hashes run at once, at most
+// `queueCapacity` more wait for a worker, and callers beyond that wait up to `maxWait`
+// for admission before being rejected, instead of every request thread burning CPU at once
+@Slf4j
+public class PooledBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore admission;
+    private final Duration maxWait;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PooledBCryptPasswordEncoder(int strength, int threads, int queueCapacity, Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(strength), strength, threads, queueCapacity, maxWait, meterRegistry);
+    }
+
+    PooledBCryptPasswordEncoder(PasswordEncoder delegate, int strength, int threads, int queueCapacity,
+            Duration maxWait, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.maxWait = maxWait;
+        this.admission = new Semaphore(threads + queueCapacity, true);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.encodeTimer = Timer.builder("password.hashing")
+                .description("Time spent computing password hashes, excluding queueing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing")
+                .description("Time spent computing password hashes, excluding queueing")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes currently being computed")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.strength", () -> strength)
+                .description("BCrypt cost factor used for new hashes")
+                .register(meterRegistry);
+    }
+
+    // Picks the highest cost in [min, max] whose hash time stays within the target. Each cost
+    // step doubles the work, so one measurement at the minimum is enough to extrapolate.
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        if (minStrength >= maxStrength) {
+            return minStrength;
+        }
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration-warmup");
+        long started = System.nanoTime();
+        probe.encode("calibration");
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+
+        int strength = minStrength;
+        long estimate = elapsedNanos;
+        while (strength < maxStrength && estimate * 2 <= target.toNanos()) {
+            strength++;
+            estimate *= 2;
+        }
+        log.info("BCrypt cost calibrated to {} ({} ms per hash at cost {}, target {} ms)",
+                strength, elapsedNanos / 1_000_000, minStrength, target.toMillis());
+        return strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    // Rehash on login whenever the stored cost differs from the calibrated one, in either direction
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        try {
+            if (!admission.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new PasswordHashingRejectedException("Too many password checks in progress, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting to hash a password");
+        }
+        try {
+            return executor.submit(task::get).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting to hash a password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            admission.release();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
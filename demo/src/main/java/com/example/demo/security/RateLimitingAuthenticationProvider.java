@@ -0,0 +1,62 @@
+package com.example.demo.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.Locale;
+
+// Rejects logins for usernames or client IPs with too many recent failures before the delegate
+// runs, so brute-force attempts cost neither a user lookup nor a BCrypt check
+@RequiredArgsConstructor
+public class RateLimitingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final SlidingWindowRateLimiter usernameLimiter;
+    private final SlidingWindowRateLimiter ipLimiter;
+    private final ConcurrencyLimiter attemptsInFlight;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName() == null
+                ? ""
+                : authentication.getName().trim().toLowerCase(Locale.ROOT);
+        String ip = authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+
+        // Only confirmed failures count, so concurrent logins that have not failed are never refused as
+        // failed ones; the in-flight cap bounds how far a burst of guesses can overshoot the limit
+        if (usernameLimiter.isLimited(username) || (ip != null && ipLimiter.isLimited(ip))) {
+            throw new LoginRateLimitedException("Too many failed login attempts. Please try again later.");
+        }
+        if (!attemptsInFlight.tryEnter(username)) {
+            throw new AuthenticationServiceException("Too many concurrent login attempts. Please try again.");
+        }
+
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            usernameLimiter.reset(username);
+            return result;
+        } catch (AuthenticationException e) {
+            usernameLimiter.record(username);
+            if (ip != null) {
+                ipLimiter.record(ip);
+            }
+            throw e;
+        } catch (PasswordHashingRejectedException e) {
+            // Hashing pool saturated: fail this login attempt cleanly without counting it
+            throw new AuthenticationServiceException(e.getMessage(), e);
+        } finally {
+            attemptsInFlight.exit(username);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
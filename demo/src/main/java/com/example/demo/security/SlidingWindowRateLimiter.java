@@ -0,0 +1,74 @@
+package com.example.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+// Counts events per key over a sliding window using the two-bucket approximation: the previous
+// window's count is weighted by how much of it still overlaps the sliding window. Updates are
+// CAS loops on an immutable snapshot, so no lock is taken. Keys live in a size-bounded Caffeine
+// map and disappear once idle for a full window.
+public class SlidingWindowRateLimiter {
+
+    private final int limit;
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicReference<Window>> windows;
+
+    public SlidingWindowRateLimiter(int limit, Duration window, long maxKeys) {
+        this(limit, window, maxKeys, System::nanoTime);
+    }
+
+    SlidingWindowRateLimiter(int limit, Duration window, long maxKeys, LongSupplier clock) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    // True when the key has already reached its limit; does not count as an event
+    public boolean isLimited(String key) {
+        AtomicReference<Window> window = windows.getIfPresent(key);
+        return window != null && window.get().estimate(clock.getAsLong(), windowNanos) >= limit;
+    }
+
+    public void record(String key) {
+        AtomicReference<Window> window = windows.get(key,
+                k -> new AtomicReference<>(new Window(clock.getAsLong(), 0, 0)));
+        window.updateAndGet(current -> current.increment(clock.getAsLong(), windowNanos));
+    }
+
+    public void reset(String key) {
+        windows.invalidate(key);
+    }
+
+    private record Window(long start, int current, int previous) {
+
+        Window rollTo(long now, long windowNanos) {
+            long elapsed = now - start;
+            if (elapsed < windowNanos) {
+                return this;
+            }
+            // One window later the current count becomes the previous one; any later, both are stale
+            int carried = elapsed < 2 * windowNanos ? current : 0;
+            return new Window(start + (elapsed / windowNanos) * windowNanos, 0, carried);
+        }
+
+        Window increment(long now, long windowNanos) {
+            Window rolled = rollTo(now, windowNanos);
+            return new Window(rolled.start, rolled.current + 1, rolled.previous);
+        }
+
+        double estimate(long now, long windowNanos) {
+            Window rolled = rollTo(now, windowNanos);
+            double overlap = 1.0 - (double) (now - rolled.start) / windowNanos;
+            return rolled.current + rolled.previous * overlap;
+        }
+    }
+}
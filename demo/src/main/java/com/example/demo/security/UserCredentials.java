@@ -0,0 +1,16 @@
+package com.example.demo.security;
+
+import com.example.demo.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Immutable login data kept in the user credentials cache. A fresh UserDetails is built from it
+// on every load because Spring Security erases the password on the instance it authenticates.
+@Getter
+@AllArgsConstructor
+public final class UserCredentials {
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final Role role;
+}
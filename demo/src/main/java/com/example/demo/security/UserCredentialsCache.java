@@ -0,0 +1,30 @@
+package com.example.demo.security;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+// Username -> credentials cache in front of the polymorphic users/students/teachers load.
+// Services must call evict() whenever a password, role or enabled flag changes.
+@Component
+@RequiredArgsConstructor
+public class UserCredentialsCache {
+
+    private final UserRepository userRepository;
+
+    // Unknown usernames are not cached, so a newly created user can log in straight away
+    @Cacheable(cacheNames = CacheConfig.USER_CREDENTIALS, key = "#username", unless = "#result == null")
+    public UserCredentials load(String username) {
+        return userRepository.findByUsername(username)
+                .map(user -> new UserCredentials(user.getUsername(), user.getPassword(),
+                        user.isEnabled(), user.getRole()))
+                .orElse(null);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USER_CREDENTIALS, key = "#username")
+    public void evict(String username) {
+    }
+}
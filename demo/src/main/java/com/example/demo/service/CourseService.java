@@ -1,6 +1,7 @@
 package com.example.demo.service;
 
 import com.example.demo.dto.CourseDTO;
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.entity.Course;
 import com.example.demo.entity.Dept;
 import com.example.demo.entity.Teacher;
@@ -8,11 +9,13 @@ import com.example.demo.repository.CourseRepository;
 import com.example.demo.repository.DeptRepository;
 import com.example.demo.repository.TeacherRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,28 +25,41 @@ public class CourseService {
     private final CourseRepository courseRepository;
     private final DeptRepository deptRepository;
     private final TeacherRepository teacherRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return courseRepository.findAllSummaries();
     }
 
+    // See StudentService.forEachStudent
+    @Transactional(readOnly = true)
+    public void forEachCourse(Consumer<? super CourseDTO> action) {
+        try (Stream<CourseDTO> courses = courseRepository.streamAllSummaries()) {
+            courses.forEach(action);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public CourseDTO getCourseById(Long id) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
-        return convertToDTO(course);
+        return courseRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getCourseVersionStamp(Long id) {
+        return courseRepository.findVersionStampById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<CourseDTO> getCoursesByDepartment(Long departmentId) {
-        return courseRepository.findByDepartmentId(departmentId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return courseRepository.findSummariesByDepartmentId(departmentId);
     }
 
     public CourseDTO createCourse(CourseDTO courseDTO) {
         if (courseRepository.existsByCode(courseDTO.getCode())) {
-            throw new RuntimeException("Course with code " + courseDTO.getCode() + " already exists");
+            throw new InvalidRequestException("Course with code " + courseDTO.getCode() + " already exists");
         }
 
         Course course = new Course();
@@ -51,53 +67,75 @@ public class CourseService {
         course.setCode(courseDTO.getCode());
         course.setDescription(courseDTO.getDescription());
         course.setCredits(courseDTO.getCredits());
+        course.setCapacity(courseDTO.getCapacity());
 
         if (courseDTO.getDepartmentId() != null) {
             Dept dept = deptRepository.findById(courseDTO.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
+                    .orElseThrow(() -> new InvalidRequestException("Department not found"));
             course.setDepartment(dept);
         }
 
         if (courseDTO.getTeacherId() != null) {
             Teacher teacher = teacherRepository.findById(courseDTO.getTeacherId())
-                    .orElseThrow(() -> new RuntimeException("Teacher not found"));
+                    .orElseThrow(() -> new InvalidRequestException("Teacher not found"));
             course.setTeacher(teacher);
         }
 
         course = courseRepository.save(course);
+        publishCourseSaved(course);
         return convertToDTO(course);
     }
 
     public CourseDTO updateCourse(Long id, CourseDTO courseDTO) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+        Course course = courseRepository.findWithDepartmentAndTeacherById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
 
         course.setName(courseDTO.getName());
         course.setCode(courseDTO.getCode());
         course.setDescription(courseDTO.getDescription());
         course.setCredits(courseDTO.getCredits());
 
+        if (courseDTO.getCapacity() != null && courseDTO.getCapacity() < course.getEnrolledCount()) {
+            throw new InvalidRequestException("Capacity cannot be lower than the " + course.getEnrolledCount()
+                    + " students already enrolled");
+        }
+        // Raising (or removing) the capacity frees seats for the waitlist
+        boolean seatsAdded = courseDTO.getCapacity() == null
+                ? course.getCapacity() != null
+                : course.getCapacity() != null && courseDTO.getCapacity() > course.getCapacity();
+        course.setCapacity(courseDTO.getCapacity());
+
         if (courseDTO.getDepartmentId() != null) {
             Dept dept = deptRepository.findById(courseDTO.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
+                    .orElseThrow(() -> new InvalidRequestException("Department not found"));
             course.setDepartment(dept);
         }
 
         if (courseDTO.getTeacherId() != null) {
             Teacher teacher = teacherRepository.findById(courseDTO.getTeacherId())
-                    .orElseThrow(() -> new RuntimeException("Teacher not found"));
+                    .orElseThrow(() -> new InvalidRequestException("Teacher not found"));
             course.setTeacher(teacher);
         }
 
         course = courseRepository.save(course);
+        publishCourseSaved(course);
+        if (seatsAdded) {
+            eventPublisher.publishEvent(new SeatReleasedEvent(course.getId()));
+        }
         return convertToDTO(course);
     }
 
     public void deleteCourse(Long id) {
         if (!courseRepository.existsById(id)) {
-            throw new RuntimeException("Course not found with id: " + id);
+            throw new ResourceNotFoundException("Course not found with id: " + id);
         }
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(DepartmentStatsEvent.courseRemoved(id));
+    }
+
+    private void publishCourseSaved(Course course) {
+        eventPublisher.publishEvent(DepartmentStatsEvent.courseSaved(course.getId(),
+                course.getDepartment() != null ? course.getDepartment().getId() : null, course.getCredits()));
     }
 
     private CourseDTO convertToDTO(Course course) {
@@ -107,6 +145,8 @@ public class CourseService {
                 .code(course.getCode())
                 .description(course.getDescription())
                 .credits(course.getCredits())
+                .capacity(course.getCapacity())
+                .enrolledCount(course.getEnrolledCount())
                 .departmentId(course.getDepartment() != null ? course.getDepartment().getId() : null)
                 .departmentName(course.getDepartment() != null ? course.getDepartment().getName() : null)
                 .teacherId(course.getTeacher() != null ? course.getTeacher().getId() : null)
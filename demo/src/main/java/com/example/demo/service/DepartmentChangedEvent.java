@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when a department is created, renamed or deleted, so the department picker can re-index it
+@Getter
+@AllArgsConstructor
+public class DepartmentChangedEvent {
+    private final Long departmentId;
+}
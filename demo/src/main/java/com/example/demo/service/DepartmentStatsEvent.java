@@ -0,0 +1,55 @@
+package com.example.demo.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A change to the rows behind the dashboard counters, applied by DepartmentStatsService after commit.
+// Students and teachers carry the department (and year) they were added to or removed from;
+// courses carry their current department and credits, and the service works out the difference.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DepartmentStatsEvent {
+
+    public enum Type { STUDENT, TEACHER, COURSE_SAVED, COURSE_REMOVED, ENROLLMENT, DEPARTMENT_REMOVED }
+
+    private final Type type;
+    private final Long departmentId;
+    private final Integer year;
+    private final Long courseId;
+    private final Integer credits;
+    // +1 / -1 for students and teachers, the change in enrolled seats for ENROLLMENT
+    private final int delta;
+
+    public static DepartmentStatsEvent studentAdded(Long departmentId, Integer year) {
+        return new DepartmentStatsEvent(Type.STUDENT, departmentId, year, null, null, 1);
+    }
+
+    public static DepartmentStatsEvent studentRemoved(Long departmentId, Integer year) {
+        return new DepartmentStatsEvent(Type.STUDENT, departmentId, year, null, null, -1);
+    }
+
+    public static DepartmentStatsEvent teacherAdded(Long departmentId) {
+        return new DepartmentStatsEvent(Type.TEACHER, departmentId, null, null, null, 1);
+    }
+
+    public static DepartmentStatsEvent teacherRemoved(Long departmentId) {
+        return new DepartmentStatsEvent(Type.TEACHER, departmentId, null, null, null, -1);
+    }
+
+    public static DepartmentStatsEvent courseSaved(Long courseId, Long departmentId, Integer credits) {
+        return new DepartmentStatsEvent(Type.COURSE_SAVED, departmentId, null, courseId, credits, 0);
+    }
+
+    public static DepartmentStatsEvent courseRemoved(Long courseId) {
+        return new DepartmentStatsEvent(Type.COURSE_REMOVED, null, null, courseId, null, 0);
+    }
+
+    public static DepartmentStatsEvent enrollmentChanged(Long courseId, int seats) {
+        return new DepartmentStatsEvent(Type.ENROLLMENT, null, null, courseId, null, seats);
+    }
+
+    public static DepartmentStatsEvent departmentRemoved(Long departmentId) {
+        return new DepartmentStatsEvent(Type.DEPARTMENT_REMOVED, departmentId, null, null, null, 0);
+    }
+}
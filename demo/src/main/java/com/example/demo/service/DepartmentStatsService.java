@@ -0,0 +1,173 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DepartmentStatsDTO;
+import com.example.demo.dto.DeptDTO;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.repository.TeacherRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+// Per-department dashboard figures kept in memory: the services publish a DepartmentStatsEvent for every
+// change and the counters are adjusted after commit, so rendering the dashboard never scans the roster.
+// A periodic GROUP BY refresh rebuilds everything, which also repairs any drift (changes committed
+// while a refresh runs, other instances' writes). Deleting a department triggers a refresh of its own.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentStatsService {
+
+    private static final int NO_YEAR = 0;
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final DeptService deptService;
+
+    // Replaced wholesale by refresh(); events update the current maps in place
+    private volatile ConcurrentMap<Long, Counters> counters = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<Long, CourseTotals> courses = new ConcurrentHashMap<>();
+
+    public List<DepartmentStatsDTO> getStats() {
+        Map<Long, Counters> current = counters;
+        return deptService.getAllDepartments().stream()
+                .sorted(Comparator.comparing(DeptDTO::getName))
+                .map(dept -> toDTO(dept, current.get(dept.getId())))
+                .toList();
+    }
+
+    @TransactionalEventListener
+    public void onChange(DepartmentStatsEvent event) {
+        switch (event.getType()) {
+            case STUDENT -> {
+                if (event.getDepartmentId() != null) {
+                    counters(event.getDepartmentId()).studentsByYear
+                            .computeIfAbsent(yearKey(event.getYear()), year -> new LongAdder())
+                            .add(event.getDelta());
+                }
+            }
+            case TEACHER -> {
+                if (event.getDepartmentId() != null) {
+                    counters(event.getDepartmentId()).teachers.add(event.getDelta());
+                }
+            }
+            case COURSE_SAVED -> updateCourse(event.getCourseId(), before -> new CourseTotals(
+                    event.getDepartmentId(),
+                    event.getCredits() != null ? event.getCredits() : 0,
+                    before != null ? before.enrolled() : 0));
+            case COURSE_REMOVED -> updateCourse(event.getCourseId(), before -> null);
+            case ENROLLMENT -> updateCourse(event.getCourseId(), before -> before == null ? null
+                    : new CourseTotals(before.departmentId(), before.credits(),
+                            Math.max(0, before.enrolled() + event.getDelta())));
+            // The cascade also takes enrollments and teachers' courses in other departments with it
+            case DEPARTMENT_REMOVED -> refresh();
+        }
+    }
+
+    // Runs once at startup and then every refresh interval
+    @Scheduled(fixedDelayString = "${app.dashboard.stats-refresh-interval-ms:600000}")
+    public void refresh() {
+        long started = System.currentTimeMillis();
+        ConcurrentMap<Long, Counters> freshCounters = new ConcurrentHashMap<>();
+        ConcurrentMap<Long, CourseTotals> freshCourses = new ConcurrentHashMap<>();
+
+        for (Object[] row : studentRepository.countByDepartmentAndYear()) {
+            freshCounters.computeIfAbsent((Long) row[0], id -> new Counters()).studentsByYear
+                    .computeIfAbsent(yearKey((Integer) row[1]), year -> new LongAdder())
+                    .add((Long) row[2]);
+        }
+        for (Object[] row : teacherRepository.countByDepartment()) {
+            freshCounters.computeIfAbsent((Long) row[0], id -> new Counters()).teachers.add((Long) row[1]);
+        }
+        for (Object[] row : courseRepository.findEnrollmentTotals()) {
+            CourseTotals course = new CourseTotals((Long) row[1],
+                    row[2] != null ? (Integer) row[2] : 0, (Integer) row[3]);
+            freshCourses.put((Long) row[0], course);
+            contribute(freshCounters, course, 1);
+        }
+
+        counters = freshCounters;
+        courses = freshCourses;
+        log.debug("Department statistics refreshed in {} ms", System.currentTimeMillis() - started);
+    }
+
+    // Moves a course's contribution from its old department and totals to the new ones
+    private void updateCourse(Long courseId, UnaryOperator<CourseTotals> change) {
+        Map<Long, Counters> current = counters;
+        courses.compute(courseId, (id, before) -> {
+            CourseTotals after = change.apply(before);
+            if (before != null) {
+                contribute(current, before, -1);
+            }
+            if (after != null) {
+                contribute(current, after, 1);
+            }
+            return after;
+        });
+    }
+
+    private static void contribute(Map<Long, Counters> counters, CourseTotals course, int sign) {
+        if (course.departmentId() == null) {
+            return;
+        }
+        Counters department = counters.computeIfAbsent(course.departmentId(), id -> new Counters());
+        department.courses.add(sign);
+        department.enrolledCredits.add(sign * (long) course.credits() * course.enrolled());
+    }
+
+    private Counters counters(Long departmentId) {
+        return counters.computeIfAbsent(departmentId, id -> new Counters());
+    }
+
+    private static int yearKey(Integer year) {
+        return year != null ? year : NO_YEAR;
+    }
+
+    private static DepartmentStatsDTO toDTO(DeptDTO dept, Counters counters) {
+        TreeMap<Integer, Long> byYear = new TreeMap<>();
+        if (counters == null) {
+            return DepartmentStatsDTO.builder()
+                    .departmentId(dept.getId())
+                    .departmentName(dept.getName())
+                    .studentsByYear(byYear)
+                    .build();
+        }
+        counters.studentsByYear.forEach((year, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                byYear.put(year, value);
+            }
+        });
+        return DepartmentStatsDTO.builder()
+                .departmentId(dept.getId())
+                .departmentName(dept.getName())
+                .students(byYear.values().stream().mapToLong(Long::longValue).sum())
+                .studentsByYear(byYear)
+                .teachers(counters.teachers.sum())
+                .courses(counters.courses.sum())
+                .enrolledCredits(counters.enrolledCredits.sum())
+                .build();
+    }
+
+    private static class Counters {
+        final ConcurrentMap<Integer, LongAdder> studentsByYear = new ConcurrentHashMap<>();
+        final LongAdder teachers = new LongAdder();
+        final LongAdder courses = new LongAdder();
+        final LongAdder enrolledCredits = new LongAdder();
+    }
+
+    private record CourseTotals(Long departmentId, int credits, int enrolled) {
+    }
+}
@@ -1,9 +1,19 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheConfig;
 import com.example.demo.dto.DeptDTO;
 import com.example.demo.entity.Dept;
+import com.example.demo.repository.CourseRepository;
 import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.EnrollmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.repository.TeacherRepository;
+import com.example.demo.security.UserCredentialsCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,45 +26,90 @@ import java.util.stream.Collectors;
 public class DeptService {
 
     private final DeptRepository deptRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final UserCredentialsCache userCredentialsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // Rendered by every student, teacher and course form; departments rarely change
+    @Cacheable(CacheConfig.DEPARTMENT_LIST)
+    @Transactional(readOnly = true)
     public List<DeptDTO> getAllDepartments() {
         return deptRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENT, key = "#id")
+    @Transactional(readOnly = true)
     public DeptDTO getDepartmentById(Long id) {
         Dept dept = deptRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
         return convertToDTO(dept);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_LIST, allEntries = true)
     public DeptDTO createDepartment(DeptDTO deptDTO) {
         if (deptRepository.existsByName(deptDTO.getName())) {
-            throw new RuntimeException("Department with name " + deptDTO.getName() + " already exists");
+            throw new InvalidRequestException("Department with name " + deptDTO.getName() + " already exists");
         }
         Dept dept = Dept.builder()
                 .name(deptDTO.getName())
                 .description(deptDTO.getDescription())
                 .build();
         dept = deptRepository.save(dept);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(dept.getId()));
         return convertToDTO(dept);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_LIST, allEntries = true),
+            @CacheEvict(cacheNames = { CacheConfig.DEPARTMENT, CacheConfig.DEPARTMENT_ENTITY }, key = "#id")
+    })
     public DeptDTO updateDepartment(Long id, DeptDTO deptDTO) {
-        Dept dept = deptRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+        // Not findById: that returns the shared cached instance, which must stay unmodified
+        if (!deptRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Department not found with id: " + id);
+        }
+        Dept dept = deptRepository.getReferenceById(id);
         dept.setName(deptDTO.getName());
         dept.setDescription(deptDTO.getDescription());
         dept = deptRepository.save(dept);
+        // Department names are searchable on students
+        eventPublisher.publishEvent(StudentChangedEvent.allStudents());
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id));
         return convertToDTO(dept);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPARTMENT_LIST, allEntries = true),
+            @CacheEvict(cacheNames = { CacheConfig.DEPARTMENT, CacheConfig.DEPARTMENT_ENTITY }, key = "#id")
+    })
     public void deleteDepartment(Long id) {
         if (!deptRepository.existsById(id)) {
-            throw new RuntimeException("Department not found with id: " + id);
+            throw new ResourceNotFoundException("Department not found with id: " + id);
         }
+        // Teachers go with the department (cascade), so the picker has to drop them too
+        List<Long> teacherIds = teacherRepository.findIdsByDepartmentId(id);
+        // So do its students; seats they held in other departments' courses are handed back
+        List<Object[]> seats = enrollmentRepository.countSeatsByCourseForDepartment(id);
+        // Deleted accounts must not keep logging in from cached credentials
+        studentRepository.findUsernamesByDepartmentId(id).forEach(userCredentialsCache::evict);
+        teacherRepository.findUsernamesByDepartmentId(id).forEach(userCredentialsCache::evict);
         deptRepository.deleteById(id);
+        for (Object[] row : seats) {
+            Long courseId = (Long) row[0];
+            if (courseRepository.addEnrolled(courseId, -((Long) row[1]).intValue()) > 0) {
+                eventPublisher.publishEvent(new SeatReleasedEvent(courseId));
+            }
+        }
+        teacherIds.forEach(teacherId -> eventPublisher.publishEvent(new TeacherChangedEvent(teacherId)));
+        // The cascade reaches other departments' figures, so the statistics are rebuilt
+        eventPublisher.publishEvent(DepartmentStatsEvent.departmentRemoved(id));
+        eventPublisher.publishEvent(StudentChangedEvent.allStudents());
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id));
     }
 
     private DeptDTO convertToDTO(Dept dept) {
@@ -0,0 +1,37 @@
+package com.example.demo.service;
+
+import lombok.Getter;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// One or more unique fields are already taken; fieldErrors maps each form field to its message
+@Getter
+public class DuplicateFieldException extends RuntimeException {
+
+    private final Map<String, String> fieldErrors;
+
+    public DuplicateFieldException(Map<String, String> fieldErrors) {
+        super(String.join("; ", fieldErrors.values()));
+        this.fieldErrors = Collections.unmodifiableMap(new LinkedHashMap<>(fieldErrors));
+    }
+
+    // Field whose unique constraint the database rejected, or null for any other integrity violation.
+    // Drivers report constraint names differently (H2 upper-cases and decorates them), so match loosely.
+    static String violatedField(DataIntegrityViolationException e, Map<String, String> fieldsByConstraint) {
+        String detail = e.getCause() instanceof org.hibernate.exception.ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : String.valueOf(e.getMostSpecificCause().getMessage());
+        String normalized = detail.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, String> entry : fieldsByConstraint.entrySet()) {
+            if (normalized.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
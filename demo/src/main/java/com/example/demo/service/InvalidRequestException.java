@@ -0,0 +1,9 @@
+package com.example.demo.service;
+
+// A request the service refuses for a reason the user can fix; the message is shown to them as is
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.service;
+
+// The student, teacher, course or department a request is about does not exist
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
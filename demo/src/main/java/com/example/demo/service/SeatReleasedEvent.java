@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when a course may have gained free seats, so its waitlist can be promoted
+@Getter
+@AllArgsConstructor
+public class SeatReleasedEvent {
+    private final Long courseId;
+}
@@ -0,0 +1,16 @@
+package com.example.demo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when a student's searchable fields may have changed; a null id means any student may have
+// changed (for example after a department rename or delete)
+@Getter
+@AllArgsConstructor
+public class StudentChangedEvent {
+    private final Long studentId;
+
+    public static StudentChangedEvent allStudents() {
+        return new StudentChangedEvent(null);
+    }
+}
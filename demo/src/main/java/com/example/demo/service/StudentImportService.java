@@ -0,0 +1,298 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.StudentImportResult;
+import com.example.demo.dto.StudentImportResult.RowError;
+import com.example.demo.entity.Dept;
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Bulk roster import: rows are streamed from the CSV and processed in chunks, each chunk
+// costing three uniqueness queries, one parallel hashing pass at a low import cost and a batched flush
+@Slf4j
+@Service
+public class StudentImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("username", "password", "email", "studentid");
+
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+    private final DeptRepository deptRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StudentImportService(StudentRepository studentRepository, UserRepository userRepository,
+            DeptRepository deptRepository, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher, @Value("${app.import.chunk-size:500}") int chunkSize,
+            @Value("${app.import.password-strength:6}") int passwordStrength) {
+        this.studentRepository = studentRepository;
+        this.userRepository = userRepository;
+        this.deptRepository = deptRepository;
+        // Not the shared hashing pool: at the calibrated cost a large roster would take minutes and keep
+        // logins waiting behind it. The first login rehashes at the calibrated cost (upgradeEncoding).
+        this.passwordEncoder = new BCryptPasswordEncoder(passwordStrength);
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public StudentImportResult importStudents(InputStream csv) throws IOException {
+        long started = System.currentTimeMillis();
+        StudentImportResult result = new StudentImportResult();
+        Map<String, Long> departments = new HashMap<>();
+        for (Dept dept : deptRepository.findAll()) {
+            departments.put(dept.getName().toLowerCase(Locale.ROOT), dept.getId());
+        }
+        // Values already taken by earlier rows of the same file
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenStudentIds = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new InvalidRequestException("The file is empty");
+            }
+            Map<String, Integer> columns = parseHeader(headerLine);
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setTotalRows(result.getTotalRows() + 1);
+                ImportRow row = toRow(lineNumber, parseLine(line), columns, departments, result.getErrors());
+                if (row == null) {
+                    continue;
+                }
+                if (!seenUsernames.add(row.username)) {
+                    result.getErrors().add(new RowError(lineNumber, "Duplicate username " + row.username + " in file"));
+                } else if (!seenEmails.add(row.email)) {
+                    result.getErrors().add(new RowError(lineNumber, "Duplicate email " + row.email + " in file"));
+                } else if (!seenStudentIds.add(row.studentId)) {
+                    result.getErrors().add(new RowError(lineNumber, "Duplicate student ID " + row.studentId + " in file"));
+                } else {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, result);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, result);
+            }
+        }
+
+        result.getErrors().sort(Comparator.comparingInt(RowError::getLine));
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        log.info("Student import finished: {} of {} rows imported in {} ms",
+                result.getImported(), result.getTotalRows(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void importChunk(List<ImportRow> chunk, StudentImportResult result) {
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.username).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.email).toList()));
+        Set<String> takenStudentIds = new HashSet<>(studentRepository.findExistingStudentIds(
+                chunk.stream().map(row -> row.studentId).toList()));
+
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (takenUsernames.contains(row.username)) {
+                result.getErrors().add(new RowError(row.line, "Username " + row.username + " already exists"));
+            } else if (takenEmails.contains(row.email)) {
+                result.getErrors().add(new RowError(row.line, "Email " + row.email + " already exists"));
+            } else if (takenStudentIds.contains(row.studentId)) {
+                result.getErrors().add(new RowError(row.line, "Student ID " + row.studentId + " already exists"));
+            } else {
+                accepted.add(row);
+            }
+        }
+        // BCrypt dominates the cost of an import, so spread it over all cores
+        accepted.parallelStream().forEach(row -> row.passwordHash = passwordEncoder.encode(row.password));
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(accepted));
+            result.setImported(result.getImported() + accepted.size());
+        } catch (RuntimeException e) {
+            // A concurrent insert slipped past the pre-check; report the whole chunk rather than half of it
+            log.warn("Student import chunk failed", e);
+            String reason = "Not imported: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            accepted.forEach(row -> result.getErrors().add(new RowError(row.line, reason)));
+        }
+        log.info("Student import progress: {} rows read, {} imported, {} rejected",
+                result.getTotalRows(), result.getImported(), result.getFailed());
+    }
+
+    private void insert(List<ImportRow> rows) {
+        for (ImportRow row : rows) {
+            Student student = new Student();
+            student.setUsername(row.username);
+            student.setPassword(row.passwordHash);
+            student.setEmail(row.email);
+            student.setFirstName(row.firstName);
+            student.setLastName(row.lastName);
+            student.setPhone(row.phone);
+            student.setStudentId(row.studentId);
+            student.setYear(row.year);
+            student.setAddress(row.address);
+            student.setRole(Role.STUDENT);
+            student.setEnabled(true);
+            if (row.departmentId != null) {
+                student.setDepartment(entityManager.getReference(Dept.class, row.departmentId));
+            }
+            entityManager.persist(student);
+            eventPublisher.publishEvent(DepartmentStatsEvent.studentAdded(row.departmentId, row.year));
+            eventPublisher.publishEvent(new StudentChangedEvent(student.getId()));
+        }
+        // Ids come from the pooled sequence, so the flush sends users and students as JDBC batches;
+        // clearing keeps the persistence context from growing across chunks
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Map<String, Integer> parseHeader(String headerLine) {
+        // Excel writes a byte order mark in front of UTF-8 CSV files
+        if (!headerLine.isEmpty() && headerLine.charAt(0) == '\uFEFF') {
+            headerLine = headerLine.substring(1);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseLine(headerLine);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidRequestException("Missing required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private ImportRow toRow(int line, List<String> fields, Map<String, Integer> columns,
+            Map<String, Long> departments, List<RowError> errors) {
+        ImportRow row = new ImportRow();
+        row.line = line;
+        row.username = field(fields, columns, "username");
+        row.password = field(fields, columns, "password");
+        row.email = field(fields, columns, "email");
+        row.firstName = field(fields, columns, "firstname");
+        row.lastName = field(fields, columns, "lastname");
+        row.phone = field(fields, columns, "phone");
+        row.studentId = field(fields, columns, "studentid");
+        row.address = field(fields, columns, "address");
+
+        for (String required : REQUIRED_COLUMNS) {
+            if (field(fields, columns, required) == null) {
+                errors.add(new RowError(line, "Missing value for " + required));
+                return null;
+            }
+        }
+
+        String year = field(fields, columns, "year");
+        if (year != null) {
+            try {
+                row.year = Integer.valueOf(year);
+            } catch (NumberFormatException e) {
+                errors.add(new RowError(line, "Invalid year: " + year));
+                return null;
+            }
+        }
+
+        String department = field(fields, columns, "department");
+        if (department != null) {
+            row.departmentId = departments.get(department.toLowerCase(Locale.ROOT));
+            if (row.departmentId == null) {
+                errors.add(new RowError(line, "Department not found: " + department));
+                return null;
+            }
+        }
+        return row;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 fields on a single line: quoted values may contain commas and doubled quotes
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static class ImportRow {
+        int line;
+        String username;
+        String password;
+        String passwordHash;
+        String email;
+        String firstName;
+        String lastName;
+        String phone;
+        String studentId;
+        Integer year;
+        String address;
+        Long departmentId;
+    }
+}
@@ -1,67 +1,176 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.EnrollmentStatus;
 import com.example.demo.dto.StudentDTO;
-import com.example.demo.entity.Course;
+import com.example.demo.dto.StudentPage;
+import com.example.demo.dto.StudentSearchPage;
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.entity.Dept;
+import com.example.demo.entity.Enrollment;
+import com.example.demo.entity.EnrollmentId;
 import com.example.demo.entity.Role;
 import com.example.demo.entity.Student;
+import com.example.demo.entity.User;
+import com.example.demo.entity.WaitlistEntry;
 import com.example.demo.repository.CourseRepository;
 import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.EnrollmentRepository;
 import com.example.demo.repository.StudentRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.WaitlistRepository;
+import com.example.demo.search.StudentSearch;
+import com.example.demo.security.UserCredentialsCache;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class StudentService {
 
+    private static final Map<String, String> UNIQUE_FIELDS = Map.of(
+            User.UK_USERNAME, "username",
+            User.UK_EMAIL, "email",
+            Student.UK_STUDENT_ID, "studentId");
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final StudentRepository studentRepository;
     private final DeptRepository deptRepository;
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final WaitlistRepository waitlistRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCredentialsCache userCredentialsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentSearch studentSearch;
 
+    @Transactional(readOnly = true)
     public List<StudentDTO> getAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return studentRepository.findAllSummaries();
+    }
+
+    // Hands every row to the action while the cursor is open, so the caller never holds the full list;
+    // the action runs inside this read-only transaction
+    @Transactional(readOnly = true)
+    public void forEachStudent(Consumer<? super StudentDTO> action) {
+        try (Stream<StudentDTO> students = studentRepository.streamAllSummaries()) {
+            students.forEach(action);
+        }
+    }
+
+    // Keyset pagination ordered by (lastName, id); cost does not grow with page depth
+    @Transactional(readOnly = true)
+    public StudentPage getStudentPage(String after, String before, int size, String sort) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean descending = "desc".equalsIgnoreCase(sort);
+        // Fetch one extra row to find out whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        boolean backward = false;
+        List<StudentDTO> rows;
+        if (after != null && !after.isBlank()) {
+            PageKey key = decodeCursor(after);
+            rows = descending
+                    ? studentRepository.findPageBefore(key.getLastName(), key.getId(), limit)
+                    : studentRepository.findPageAfter(key.getLastName(), key.getId(), limit);
+        } else if (before != null && !before.isBlank()) {
+            PageKey key = decodeCursor(before);
+            backward = true;
+            rows = descending
+                    ? studentRepository.findPageAfter(key.getLastName(), key.getId(), limit)
+                    : studentRepository.findPageBefore(key.getLastName(), key.getId(), limit);
+        } else {
+            rows = descending
+                    ? studentRepository.findFirstPageDescending(limit)
+                    : studentRepository.findFirstPageAscending(limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        rows = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (backward) {
+            Collections.reverse(rows);
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrev = backward ? hasMore : after != null && !after.isBlank();
+
+        return StudentPage.builder()
+                .students(rows)
+                .size(pageSize)
+                .sort(descending ? "desc" : "asc")
+                .nextCursor(hasNext && !rows.isEmpty() ? encodeCursor(rows.get(rows.size() - 1)) : null)
+                .prevCursor(hasPrev && !rows.isEmpty() ? encodeCursor(rows.get(0)) : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public StudentSearchPage searchStudents(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        // One extra row tells whether there is a next page without counting all matches
+        List<StudentDTO> rows = studentSearch.search(query, pageNumber * pageSize, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        return StudentSearchPage.builder()
+                .students(hasNext ? rows.subList(0, pageSize) : rows)
+                .query(query)
+                .page(pageNumber)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .build();
     }
 
+    @Transactional(readOnly = true)
     public StudentDTO getStudentById(Long id) {
         Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
         return convertToDTO(student);
     }
 
+    // Cheap check for the detail page: versions only, no entity or DTO
+    @Transactional(readOnly = true)
+    public VersionStamp getStudentVersionStamp(Long id) {
+        return studentRepository.findVersionStampById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
     public StudentDTO getStudentByUsername(String username) {
         Student student = studentRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Student not found with username: " + username));
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with username: " + username));
         return convertToDTO(student);
     }
 
+    @Transactional(readOnly = true)
     public List<StudentDTO> getStudentsByDepartment(Long departmentId) {
-        return studentRepository.findByDepartmentId(departmentId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return studentRepository.findSummariesByDepartmentId(departmentId);
     }
 
     // Only TEACHER can create student profiles
     public StudentDTO createStudent(StudentDTO studentDTO) {
-        if (userRepository.existsByUsername(studentDTO.getUsername())) {
-            throw new RuntimeException("Username " + studentDTO.getUsername() + " already exists");
-        }
-        if (userRepository.existsByEmail(studentDTO.getEmail())) {
-            throw new RuntimeException("Email " + studentDTO.getEmail() + " already exists");
-        }
-        if (studentRepository.existsByStudentId(studentDTO.getStudentId())) {
-            throw new RuntimeException("Student ID " + studentDTO.getStudentId() + " already exists");
+        List<String> conflicts = studentRepository.findConflictingFields(
+                studentDTO.getUsername(), studentDTO.getEmail(), studentDTO.getStudentId());
+        if (!conflicts.isEmpty()) {
+            throw duplicateFields(conflicts, studentDTO);
         }
 
         Student student = new Student();
@@ -79,22 +188,24 @@ public class StudentService {
 
         if (studentDTO.getDepartmentId() != null) {
             Dept dept = deptRepository.findById(studentDTO.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
+                    .orElseThrow(() -> new InvalidRequestException("Department not found"));
             student.setDepartment(dept);
         }
 
-        student = studentRepository.save(student);
+        student = saveAndCheckUnique(student, studentDTO);
+        eventPublisher.publishEvent(DepartmentStatsEvent.studentAdded(departmentId(student), student.getYear()));
+        eventPublisher.publishEvent(new StudentChangedEvent(student.getId()));
         return convertToDTO(student);
     }
 
     // Student can update their own profile (limited fields)
     public StudentDTO updateStudentProfile(Long id, StudentDTO studentDTO, String currentUsername) {
         Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
 
         // Check if the student is updating their own profile
         if (!student.getUsername().equals(currentUsername)) {
-            throw new RuntimeException("You can only update your own profile");
+            throw new InvalidRequestException("You can only update your own profile");
         }
 
         // Students can only update limited fields
@@ -104,16 +215,20 @@ public class StudentService {
 
         if (studentDTO.getPassword() != null && !studentDTO.getPassword().isEmpty()) {
             student.setPassword(passwordEncoder.encode(studentDTO.getPassword()));
+            userCredentialsCache.evict(student.getUsername());
         }
 
-        student = studentRepository.save(student);
+        student = saveAndCheckUnique(student, studentDTO);
+        eventPublisher.publishEvent(new StudentChangedEvent(student.getId()));
         return convertToDTO(student);
     }
 
     // Teacher can update all student fields
     public StudentDTO updateStudent(Long id, StudentDTO studentDTO) {
         Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+        Long previousDepartmentId = departmentId(student);
+        Integer previousYear = student.getYear();
 
         student.setEmail(studentDTO.getEmail());
         student.setFirstName(studentDTO.getFirstName());
@@ -124,47 +239,135 @@ public class StudentService {
 
         if (studentDTO.getPassword() != null && !studentDTO.getPassword().isEmpty()) {
             student.setPassword(passwordEncoder.encode(studentDTO.getPassword()));
+            userCredentialsCache.evict(student.getUsername());
         }
 
         if (studentDTO.getDepartmentId() != null) {
             Dept dept = deptRepository.findById(studentDTO.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
+                    .orElseThrow(() -> new InvalidRequestException("Department not found"));
             student.setDepartment(dept);
         }
 
-        student = studentRepository.save(student);
+        student = saveAndCheckUnique(student, studentDTO);
+        if (!Objects.equals(previousDepartmentId, departmentId(student))
+                || !Objects.equals(previousYear, student.getYear())) {
+            eventPublisher.publishEvent(DepartmentStatsEvent.studentRemoved(previousDepartmentId, previousYear));
+            eventPublisher.publishEvent(DepartmentStatsEvent.studentAdded(departmentId(student), student.getYear()));
+        }
+        eventPublisher.publishEvent(new StudentChangedEvent(student.getId()));
         return convertToDTO(student);
     }
 
     public void deleteStudent(Long id) {
-        if (!studentRepository.existsById(id)) {
-            throw new RuntimeException("Student not found with id: " + id);
-        }
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+        // The enrollments go with the student by cascade; their seats are handed back in one UPDATE
+        List<Long> courseIds = enrollmentRepository.findCourseIdsByStudentId(id);
+        userCredentialsCache.evict(student.getUsername());
         studentRepository.deleteById(id);
+        if (!courseIds.isEmpty()) {
+            courseRepository.releaseSeats(courseIds);
+            for (Long courseId : courseIds) {
+                eventPublisher.publishEvent(DepartmentStatsEvent.enrollmentChanged(courseId, -1));
+                eventPublisher.publishEvent(new SeatReleasedEvent(courseId));
+            }
+        }
+        eventPublisher.publishEvent(DepartmentStatsEvent.studentRemoved(departmentId(student), student.getYear()));
+        eventPublisher.publishEvent(new StudentChangedEvent(id));
     }
 
-    // Enroll student in a course (M:M relationship)
-    public StudentDTO enrollInCourse(Long studentId, Long courseId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+    // Enroll student in a course: inserts a single student_courses row without loading either collection.
+    // When the course is full, or others are already waiting, the student joins its FIFO waitlist instead.
+    public EnrollmentStatus enrollInCourse(Long studentId, Long courseId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found");
+        }
+        if (enrollmentRepository.existsById(new EnrollmentId(studentId, courseId))) {
+            throw new InvalidRequestException("Student is already enrolled in this course");
+        }
+
+        // Reserve the seat last so the course row lock is held only for the INSERT and commit
+        if (courseRepository.reserveSeat(courseId) == 0) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new ResourceNotFoundException("Course not found");
+            }
+            if (waitlistRepository.existsByCourseIdAndStudentId(courseId, studentId)) {
+                throw new InvalidRequestException("Student is already on the waitlist for this course");
+            }
+            waitlistRepository.save(new WaitlistEntry(
+                    studentRepository.getReferenceById(studentId),
+                    courseRepository.getReferenceById(courseId)));
+            // Seats may be free with others queued ahead; the promoter fills them in queue order
+            eventPublisher.publishEvent(new SeatReleasedEvent(courseId));
+            return EnrollmentStatus.WAITLISTED;
+        }
 
-        student.getCourses().add(course);
-        student = studentRepository.save(student);
-        return convertToDTO(student);
+        enrollmentRepository.save(new Enrollment(
+                studentRepository.getReferenceById(studentId),
+                courseRepository.getReferenceById(courseId)));
+        eventPublisher.publishEvent(DepartmentStatsEvent.enrollmentChanged(courseId, 1));
+        return EnrollmentStatus.ENROLLED;
     }
 
-    // Unenroll student from a course
-    public StudentDTO unenrollFromCourse(Long studentId, Long courseId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+    // Unenroll student from a course (or drop them from its waitlist). A freed seat is
+    // handed to the waitlist by WaitlistPromoter after this transaction commits.
+    public void unenrollFromCourse(Long studentId, Long courseId) {
+        if (enrollmentRepository.deleteByStudentIdAndCourseId(studentId, courseId) == 1) {
+            if (courseRepository.releaseSeat(courseId) == 1) {
+                eventPublisher.publishEvent(DepartmentStatsEvent.enrollmentChanged(courseId, -1));
+            }
+            eventPublisher.publishEvent(new SeatReleasedEvent(courseId));
+            return;
+        }
+        if (waitlistRepository.deleteByCourseIdAndStudentId(courseId, studentId) == 0) {
+            throw new InvalidRequestException("Student is not enrolled in this course");
+        }
+    }
 
-        student.getCourses().remove(course);
-        student = studentRepository.save(student);
-        return convertToDTO(student);
+    // Cursor is the (id, lastName) of the boundary row, URL-safe Base64 encoded
+    private String encodeCursor(StudentDTO student) {
+        String raw = student.getId() + ":" + (student.getLastName() != null ? student.getLastName() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PageKey decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new PageKey(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidRequestException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    // Flushes immediately so a unique constraint violation surfaces here as a field error
+    // (for example a concurrent insert that took a value after the up-front check)
+    private Student saveAndCheckUnique(Student student, StudentDTO studentDTO) {
+        try {
+            return studentRepository.saveAndFlush(student);
+        } catch (DataIntegrityViolationException e) {
+            String field = DuplicateFieldException.violatedField(e, UNIQUE_FIELDS);
+            if (field == null) {
+                throw e;
+            }
+            throw duplicateFields(List.of(field), studentDTO);
+        }
+    }
+
+    private DuplicateFieldException duplicateFields(List<String> fields, StudentDTO studentDTO) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "username" -> errors.put(field, "Username " + studentDTO.getUsername() + " already exists");
+                case "email" -> errors.put(field, "Email " + studentDTO.getEmail() + " already exists");
+                default -> errors.put(field, "Student ID " + studentDTO.getStudentId() + " already exists");
+            }
+        }
+        return new DuplicateFieldException(errors);
+    }
+
+    private static Long departmentId(Student student) {
+        return student.getDepartment() != null ? student.getDepartment().getId() : null;
     }
 
     private StudentDTO convertToDTO(Student student) {
@@ -182,4 +385,11 @@ public class StudentService {
                 .departmentName(student.getDepartment() != null ? student.getDepartment().getName() : null)
                 .build();
     }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PageKey {
+        private final String lastName;
+        private final Long id;
+    }
 }
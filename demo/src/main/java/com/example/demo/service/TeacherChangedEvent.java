@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when a teacher is created, updated or deleted, so the teacher picker can re-index it
+@Getter
+@AllArgsConstructor
+public class TeacherChangedEvent {
+    private final Long teacherId;
+}
@@ -1,57 +1,83 @@
 package com.example.demo.service;
 
 import com.example.demo.dto.TeacherDTO;
+import com.example.demo.dto.VersionStamp;
+import com.example.demo.entity.Course;
 import com.example.demo.entity.Dept;
 import com.example.demo.entity.Role;
 import com.example.demo.entity.Teacher;
+import com.example.demo.entity.User;
 import com.example.demo.repository.DeptRepository;
 import com.example.demo.repository.TeacherRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserCredentialsCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TeacherService {
 
+    private static final Map<String, String> UNIQUE_FIELDS = Map.of(
+            User.UK_USERNAME, "username",
+            User.UK_EMAIL, "email",
+            Teacher.UK_EMPLOYEE_ID, "employeeId");
+
     private final TeacherRepository teacherRepository;
     private final DeptRepository deptRepository;
-    private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCredentialsCache userCredentialsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<TeacherDTO> getAllTeachers() {
-        return teacherRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return teacherRepository.findAllSummaries();
     }
 
+    // See StudentService.forEachStudent
+    @Transactional(readOnly = true)
+    public void forEachTeacher(Consumer<? super TeacherDTO> action) {
+        try (Stream<TeacherDTO> teachers = teacherRepository.streamAllSummaries()) {
+            teachers.forEach(action);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public TeacherDTO getTeacherById(Long id) {
         Teacher teacher = teacherRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id: " + id));
         return convertToDTO(teacher);
     }
 
+    @Transactional(readOnly = true)
+    public VersionStamp getTeacherVersionStamp(Long id) {
+        return teacherRepository.findVersionStampById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
     public TeacherDTO getTeacherByUsername(String username) {
         Teacher teacher = teacherRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Teacher not found with username: " + username));
+                .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with username: " + username));
         return convertToDTO(teacher);
     }
 
     public TeacherDTO createTeacher(TeacherDTO teacherDTO) {
-        if (userRepository.existsByUsername(teacherDTO.getUsername())) {
-            throw new RuntimeException("Username " + teacherDTO.getUsername() + " already exists");
-        }
-        if (userRepository.existsByEmail(teacherDTO.getEmail())) {
-            throw new RuntimeException("Email " + teacherDTO.getEmail() + " already exists");
-        }
-        if (teacherRepository.existsByEmployeeId(teacherDTO.getEmployeeId())) {
-            throw new RuntimeException("Employee ID " + teacherDTO.getEmployeeId() + " already exists");
+        List<String> conflicts = teacherRepository.findConflictingFields(
+                teacherDTO.getUsername(), teacherDTO.getEmail(), teacherDTO.getEmployeeId());
+        if (!conflicts.isEmpty()) {
+            throw duplicateFields(conflicts, teacherDTO);
         }
 
         Teacher teacher = new Teacher();
@@ -68,17 +94,20 @@ public class TeacherService {
 
         if (teacherDTO.getDepartmentId() != null) {
             Dept dept = deptRepository.findById(teacherDTO.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
+                    .orElseThrow(() -> new InvalidRequestException("Department not found"));
             teacher.setDepartment(dept);
         }
 
-        teacher = teacherRepository.save(teacher);
+        teacher = saveAndCheckUnique(teacher, teacherDTO);
+        eventPublisher.publishEvent(DepartmentStatsEvent.teacherAdded(departmentId(teacher)));
+        eventPublisher.publishEvent(new TeacherChangedEvent(teacher.getId()));
         return convertToDTO(teacher);
     }
 
     public TeacherDTO updateTeacher(Long id, TeacherDTO teacherDTO) {
         Teacher teacher = teacherRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id: " + id));
+        Long previousDepartmentId = departmentId(teacher);
 
         teacher.setEmail(teacherDTO.getEmail());
         teacher.setFirstName(teacherDTO.getFirstName());
@@ -88,23 +117,64 @@ public class TeacherService {
 
         if (teacherDTO.getPassword() != null && !teacherDTO.getPassword().isEmpty()) {
             teacher.setPassword(passwordEncoder.encode(teacherDTO.getPassword()));
+            userCredentialsCache.evict(teacher.getUsername());
         }
 
         if (teacherDTO.getDepartmentId() != null) {
             Dept dept = deptRepository.findById(teacherDTO.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found"));
+                    .orElseThrow(() -> new InvalidRequestException("Department not found"));
             teacher.setDepartment(dept);
         }
 
-        teacher = teacherRepository.save(teacher);
+        teacher = saveAndCheckUnique(teacher, teacherDTO);
+        if (!Objects.equals(previousDepartmentId, departmentId(teacher))) {
+            eventPublisher.publishEvent(DepartmentStatsEvent.teacherRemoved(previousDepartmentId));
+            eventPublisher.publishEvent(DepartmentStatsEvent.teacherAdded(departmentId(teacher)));
+        }
+        eventPublisher.publishEvent(new TeacherChangedEvent(teacher.getId()));
         return convertToDTO(teacher);
     }
 
     public void deleteTeacher(Long id) {
-        if (!teacherRepository.existsById(id)) {
-            throw new RuntimeException("Teacher not found with id: " + id);
-        }
+        Teacher teacher = teacherRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id: " + id));
+        userCredentialsCache.evict(teacher.getUsername());
+        // The teacher's courses go with them (cascade)
+        List<Long> courseIds = teacher.getCourses().stream().map(Course::getId).toList();
         teacherRepository.deleteById(id);
+        eventPublisher.publishEvent(DepartmentStatsEvent.teacherRemoved(departmentId(teacher)));
+        courseIds.forEach(courseId -> eventPublisher.publishEvent(DepartmentStatsEvent.courseRemoved(courseId)));
+        eventPublisher.publishEvent(new TeacherChangedEvent(id));
+    }
+
+    // Flushes immediately so a unique constraint violation surfaces here as a field error
+    // (for example a concurrent insert that took a value after the up-front check)
+    private Teacher saveAndCheckUnique(Teacher teacher, TeacherDTO teacherDTO) {
+        try {
+            return teacherRepository.saveAndFlush(teacher);
+        } catch (DataIntegrityViolationException e) {
+            String field = DuplicateFieldException.violatedField(e, UNIQUE_FIELDS);
+            if (field == null) {
+                throw e;
+            }
+            throw duplicateFields(List.of(field), teacherDTO);
+        }
+    }
+
+    private DuplicateFieldException duplicateFields(List<String> fields, TeacherDTO teacherDTO) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "username" -> errors.put(field, "Username " + teacherDTO.getUsername() + " already exists");
+                case "email" -> errors.put(field, "Email " + teacherDTO.getEmail() + " already exists");
+                default -> errors.put(field, "Employee ID " + teacherDTO.getEmployeeId() + " already exists");
+            }
+        }
+        return new DuplicateFieldException(errors);
+    }
+
+    private static Long departmentId(Teacher teacher) {
+        return teacher.getDepartment() != null ? teacher.getDepartment().getId() : null;
     }
 
     private TeacherDTO convertToDTO(Teacher teacher) {
@@ -0,0 +1,62 @@
+package com.example.demo.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Background worker: courses with released seats are queued after commit and their
+// waitlists are promoted in batches off the request thread. The queue lives in memory, so every
+// tick (the first one runs at startup) also picks up courses the database shows as promotable,
+// which covers restarts and lost events.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistPromoter {
+
+    private final WaitlistService waitlistService;
+
+    private final Set<Long> pendingCourses = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.waitlist.batch-size:50}")
+    private int batchSize = 50;
+
+    @TransactionalEventListener
+    public void onSeatReleased(SeatReleasedEvent event) {
+        pendingCourses.add(event.getCourseId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.promotion-interval-ms:1000}")
+    public void promotePending() {
+        try {
+            pendingCourses.addAll(waitlistService.findCoursesToPromote());
+        } catch (RuntimeException e) {
+            log.warn("Could not look up courses with promotable waitlists", e);
+        }
+        Iterator<Long> iterator = pendingCourses.iterator();
+        while (iterator.hasNext()) {
+            Long courseId = iterator.next();
+            iterator.remove();
+            try {
+                WaitlistService.Promotion promotion = waitlistService.promoteNext(courseId, batchSize);
+                if (promotion.promoted() > 0) {
+                    log.info("Promoted {} waitlisted students into course {}", promotion.promoted(), courseId);
+                }
+                // A full batch means there may be more seats and more students waiting; skipped
+                // entries left their seats free for the next students in the queue
+                if (promotion.dequeued() == batchSize || promotion.promoted() < promotion.dequeued()) {
+                    pendingCourses.add(courseId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Waitlist promotion failed for course {}, will retry", courseId, e);
+                pendingCourses.add(courseId);
+            }
+        }
+    }
+}
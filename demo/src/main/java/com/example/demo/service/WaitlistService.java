@@ -0,0 +1,63 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Course;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.WaitlistRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<Long> findCoursesToPromote() {
+        return waitlistRepository.findCourseIdsWithFreeSeats();
+    }
+
+    // Moves up to batchSize waitlisted students into free seats with a fixed number of
+    // statements; returns how many were enrolled and how many entries left the queue
+    public Promotion promoteNext(Long courseId, int batchSize) {
+        // Lock the course row so concurrent reserveSeat calls cannot take the seats we count
+        Course course = courseRepository.findByIdForUpdate(courseId).orElse(null);
+        if (course == null) {
+            return Promotion.NONE;
+        }
+
+        int freeSeats = course.getCapacity() == null
+                ? batchSize
+                : Math.min(batchSize, course.getCapacity() - course.getEnrolledCount());
+        if (freeSeats <= 0) {
+            return Promotion.NONE;
+        }
+
+        List<Long> ids = waitlistRepository.findHeadIds(courseId, PageRequest.of(0, freeSeats));
+        if (ids.isEmpty()) {
+            return Promotion.NONE;
+        }
+
+        int promoted = waitlistRepository.enrollAll(ids);
+        waitlistRepository.deleteAllByIds(ids);
+        if (promoted > 0) {
+            courseRepository.addEnrolled(courseId, promoted);
+            eventPublisher.publishEvent(DepartmentStatsEvent.enrollmentChanged(courseId, promoted));
+        }
+        return new Promotion(promoted, ids.size());
+    }
+
+    // Entries already enrolled are dequeued without taking a seat, so fewer promoted than dequeued
+    // means seats are still free
+    public record Promotion(int promoted, int dequeued) {
+        static final Promotion NONE = new Promotion(0, 0);
+    }
+}
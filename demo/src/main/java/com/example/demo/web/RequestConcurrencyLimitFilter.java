@@ -0,0 +1,114 @@
+package com.example.demo.web;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Lets at most `maxConcurrent` requests run at once. On virtual threads Tomcat no longer bounds
+// concurrency with its worker pool, so a burst would otherwise pile up inside Hikari and fail after
+// its connection-timeout. Here the excess parks on a fair semaphore, which costs a virtual thread
+// next to nothing, and requests still waiting after `maxWait` get a 503 with Retry-After.
+@Slf4j
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // Served without touching the database
+    private static final List<String> UNLIMITED_PATHS = List.of("/css/", "/js/", "/images/", "/actuator/health");
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Timer waitTimer;
+
+    public RequestConcurrencyLimitFilter(int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWait = maxWait;
+        this.waitTimer = Timer.builder("http.server.requests.limiter.wait")
+                .description("Time requests waited for a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests parked waiting for a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.limiter.available", permits, Semaphore::availablePermits)
+                .description("Concurrency permits currently free")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return UNLIMITED_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            log.warn("Rejected {} {}: no concurrency permit within {}", request.getMethod(),
+                    request.getRequestURI(), maxWait);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // A streamed response goes on reading from the database on another thread after this
+                // dispatch returns, and the async dispatch is not filtered again: keep the permit until
+                // the whole response is done
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    private class ReleaseOnComplete implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        // Also called after a timeout or error, once the container has completed the response
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        // Listeners are dropped when the request goes async again
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private boolean acquire() {
+        long started = System.nanoTime();
+        try {
+            return permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
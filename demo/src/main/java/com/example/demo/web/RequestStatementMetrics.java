@@ -0,0 +1,64 @@
+package com.example.demo.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// SQL statements per page: Hibernate reports each statement it prepares (StatementInspector) and the
+// count for the request thread is recorded as app.http.request.statements, tagged with the handler's
+// URI pattern. A page whose statement count grows with the data it shows has an N+1 query. Work done
+// on another thread (the streaming JSON lists) is not attributed to the request.
+public class RequestStatementMetrics implements StatementInspector, AsyncHandlerInterceptor {
+
+    public static final String METRIC_NAME = "app.http.request.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<int[]> statements = new ThreadLocal<>();
+
+    public RequestStatementMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = statements.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statements.set(new int[1]);
+        return true;
+    }
+
+    // The request continues on another thread; the async dispatch starts its own count
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        statements.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        int[] count = statements.get();
+        statements.remove();
+        if (count == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(count[0]);
+    }
+}
@@ -0,0 +1,7 @@
+-- Course capacity (null = unlimited) and the seat counter behind the conditional seat reservation.
+-- The counter starts from the enrollments that already exist.
+
+alter table courses add column if not exists capacity integer;
+alter table courses add column if not exists enrolled_count integer default 0 not null;
+
+update courses set enrolled_count = (select count(*) from student_courses sc where sc.course_id = courses.id);
@@ -0,0 +1,15 @@
+-- FIFO waitlist of full courses. The head of a course's queue is a range scan on
+-- (course_id, joined_at, id). Ids come from course_waitlist_seq (V1_3).
+
+create table if not exists course_waitlist (
+    id bigint not null,
+    course_id bigint not null,
+    student_id bigint not null,
+    joined_at timestamp(6) not null,
+    constraint pk_course_waitlist primary key (id),
+    constraint uk_course_waitlist_course_student unique (course_id, student_id),
+    constraint fk_course_waitlist_course foreign key (course_id) references courses (id),
+    constraint fk_course_waitlist_student foreign key (student_id) references students (id)
+);
+
+create index if not exists idx_course_waitlist_position on course_waitlist (course_id, joined_at, id);
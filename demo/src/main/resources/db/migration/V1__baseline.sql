@@ -0,0 +1,65 @@
+-- Schema as ddl-auto=update created it before migrations were introduced: IDENTITY ids and the
+-- unique constraints of the original mapping. Databases created that way are baselined at this
+-- version and receive V1_1 onwards, which add everything the mapping has gained since.
+
+create table departments (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique,
+    description varchar(255),
+    constraint pk_departments primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    email varchar(255) not null unique,
+    first_name varchar(255),
+    last_name varchar(255),
+    phone varchar(255),
+    role varchar(255) not null check (role in ('TEACHER', 'STUDENT')),
+    enabled boolean not null,
+    constraint pk_users primary key (id)
+);
+
+create table students (
+    id bigint not null,
+    student_id varchar(255),
+    student_year integer,
+    address varchar(255),
+    department_id bigint,
+    constraint pk_students primary key (id),
+    constraint fk_students_users foreign key (id) references users (id),
+    constraint fk_students_department foreign key (department_id) references departments (id)
+);
+
+create table teachers (
+    id bigint not null,
+    employee_id varchar(255),
+    specialization varchar(255),
+    department_id bigint,
+    constraint pk_teachers primary key (id),
+    constraint fk_teachers_users foreign key (id) references users (id),
+    constraint fk_teachers_department foreign key (department_id) references departments (id)
+);
+
+create table courses (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    code varchar(255) not null unique,
+    description varchar(255),
+    credits integer,
+    department_id bigint,
+    teacher_id bigint,
+    constraint pk_courses primary key (id),
+    constraint fk_courses_department foreign key (department_id) references departments (id),
+    constraint fk_courses_teacher foreign key (teacher_id) references teachers (id)
+);
+
+create table student_courses (
+    student_id bigint not null,
+    course_id bigint not null,
+    constraint pk_student_courses primary key (student_id, course_id),
+    constraint fk_student_courses_student foreign key (student_id) references students (id),
+    constraint fk_student_courses_course foreign key (course_id) references courses (id)
+);
@@ -0,0 +1,20 @@
+-- Postgres does not index foreign key columns by itself, so every "by department" and
+-- "by teacher" lookup was a sequential scan. IF NOT EXISTS keeps this safe to run on
+-- databases where someone already added an index by hand.
+
+-- StudentRepository / TeacherRepository.findByDepartmentId and the department listings
+create index if not exists idx_students_department on students (department_id);
+create index if not exists idx_teachers_department on teachers (department_id);
+
+-- CourseRepository.findSummariesByDepartmentId filters on department and orders by code
+create index if not exists idx_courses_department_code on courses (department_id, code);
+create index if not exists idx_courses_teacher on courses (teacher_id);
+
+-- The primary key leads with student_id; course rosters need the reverse order
+create index if not exists idx_student_courses_course on student_courses (course_id, student_id);
+
+-- Deleting a student cascades to its waitlist entries
+create index if not exists idx_course_waitlist_student on course_waitlist (student_id);
+
+-- Keyset pagination of the student listing orders by (last_name, id)
+create index if not exists idx_users_last_name_id on users (last_name, id);
@@ -0,0 +1,14 @@
+-- Optimistic-lock versions and last-update times for users, courses and departments. The detail
+-- pages answer conditional GETs from these two columns without loading the entities.
+-- V3 is taken by the Postgres-only search indexes in db/vendor/postgresql.
+-- Existing rows start at version 0, updated now; the defaults stay so rows written outside
+-- JPA still get valid values.
+
+alter table users add column version bigint default 0 not null;
+alter table users add column updated_at timestamp(6) default localtimestamp not null;
+
+alter table courses add column version bigint default 0 not null;
+alter table courses add column updated_at timestamp(6) default localtimestamp not null;
+
+alter table departments add column version bigint default 0 not null;
+alter table departments add column updated_at timestamp(6) default localtimestamp not null;
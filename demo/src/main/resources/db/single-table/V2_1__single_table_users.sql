@@ -0,0 +1,41 @@
+-- Folds students and teachers into users for the single-table layout (META-INF/orm-single-table.xml).
+-- Only on the migration path of the "single-table" profile. There is no way back other than a restore.
+
+alter table users add column user_type varchar(31);
+alter table users add column student_id varchar(255);
+alter table users add column student_year integer;
+alter table users add column address varchar(255);
+alter table users add column employee_id varchar(255);
+alter table users add column specialization varchar(255);
+alter table users add column department_id bigint;
+
+update users set
+    user_type = 'STUDENT',
+    student_id = (select s.student_id from students s where s.id = users.id),
+    student_year = (select s.student_year from students s where s.id = users.id),
+    address = (select s.address from students s where s.id = users.id),
+    department_id = (select s.department_id from students s where s.id = users.id)
+where id in (select id from students);
+
+update users set
+    user_type = 'TEACHER',
+    employee_id = (select t.employee_id from teachers t where t.id = users.id),
+    specialization = (select t.specialization from teachers t where t.id = users.id),
+    department_id = (select t.department_id from teachers t where t.id = users.id)
+where id in (select id from teachers);
+
+-- User is abstract, so every row has a subclass row; if not, fail here rather than guess
+alter table users alter column user_type set not null;
+
+-- Also drops the foreign keys pointing at the old tables, whatever they were named
+drop table students cascade;
+drop table teachers cascade;
+
+alter table users add constraint uk_students_student_id unique (student_id);
+alter table users add constraint uk_teachers_employee_id unique (employee_id);
+alter table users add constraint fk_users_department foreign key (department_id) references departments (id);
+alter table student_courses add constraint fk_student_courses_student foreign key (student_id) references users (id);
+alter table course_waitlist add constraint fk_course_waitlist_student foreign key (student_id) references users (id);
+alter table courses add constraint fk_courses_teacher foreign key (teacher_id) references users (id);
+
+create index idx_users_department on users (department_id);
@@ -0,0 +1,151 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.entity.Course;
+import com.example.demo.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Many concurrent logged-in clients loading the course list, which blocks on JPA and renders a template.
+// Compare the numbers printed by PlatformThreadLoadBenchmarkTest and VirtualThreadLoadBenchmarkTest.
+// Run with: mvn test -Pbenchmark (add -Pjava21 on a Java 21 JDK for the virtual thread run)
+@Tag("benchmark")
+abstract class AbstractRequestLoadBenchmark {
+
+    private static final int COURSES = 200;
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS = 20000;
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final List<Course> courses = new ArrayList<>();
+
+    protected abstract String mode();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < COURSES; i++) {
+            Course course = new Course();
+            course.setName("Load Course " + i);
+            course.setCode("LOAD" + i);
+            course.setCredits(3);
+            courses.add(course);
+        }
+        courseRepository.saveAll(courses);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll(courses);
+    }
+
+    @Test
+    void measureThroughputAndTailLatency() throws Exception {
+        ExecutorService clientThreads = Executors.newFixedThreadPool(8);
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .cookieHandler(new CookieManager())
+                    .executor(clientThreads)
+                    .build();
+            logIn(client);
+
+            // Warm up the JIT, the connection pools and the template cache before measuring
+            run(client, 2000);
+            Run run = run(client, REQUESTS);
+
+            System.out.printf("%-10s %8s %8s %10s %8s %8s %8s%n",
+                    "mode", "requests", "ms", "req/s", "p50 ms", "p99 ms", "errors");
+            System.out.printf("%-10s %8d %8d %10d %8.1f %8.1f %8d%n", mode(), REQUESTS, run.millis(),
+                    REQUESTS * 1000L / Math.max(1, run.millis()), run.percentile(50), run.percentile(99), run.errors());
+            assertEquals(0, run.errors());
+        } finally {
+            clientThreads.shutdownNow();
+        }
+    }
+
+    // Keeps CLIENTS requests in flight until `requests` have completed; returns each request's latency
+    private Run run(HttpClient client, int requests) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri("/courses")).GET().build();
+        Semaphore inFlight = new Semaphore(CLIENTS);
+        CountDownLatch done = new CountDownLatch(requests);
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                latencies[index] = System.nanoTime() - sent;
+                if (failure != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.MINUTES));
+        return new Run((System.nanoTime() - started) / 1_000_000, latencies, errors.get());
+    }
+
+    private void logIn(HttpClient client) throws Exception {
+        String loginPage = client.send(HttpRequest.newBuilder(uri("/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF.matcher(loginPage);
+        assertTrue(csrf.find(), "No CSRF token on the login page");
+
+        String form = "username=admin&password=admin123&_csrf="
+                + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri("/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertTrue(response.headers().firstValue("Location").orElse("").endsWith("/dashboard"),
+                "Login failed");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record Run(long millis, long[] latencies, int errors) {
+        double percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Login lookups and bulk inserts against whichever user layout the subclass activates.
+// Compare the numbers printed by JoinedUserLayoutBenchmarkTest and SingleTableUserLayoutBenchmarkTest.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+abstract class AbstractUserLayoutBenchmark {
+
+    private static final int ROWS = 5000;
+    private static final int LOOKUPS = 20000;
+    private static final int FLUSH_EVERY = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+
+    protected abstract String layout();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("delete from Student s where s.username like 'layout.%'")
+                .executeUpdate());
+    }
+
+    @Test
+    void measureBulkInsertAndLoginLookup() {
+        // Warm up the JIT and connection pool before measuring
+        insert("warmup", 500);
+        lookup("warmup", 500, 2000);
+
+        Run inserts = insert("bench", ROWS);
+        Run lookups = lookup("bench", ROWS, LOOKUPS);
+
+        System.out.printf("%-14s %-8s %8s %12s %10s%n", "layout", "op", "ms", "statements", "ops/s");
+        inserts.print(layout(), "insert");
+        lookups.print(layout(), "lookup");
+
+        assertEquals(ROWS + 500, entityManager
+                .createQuery("select count(s) from Student s where s.username like 'layout.%'", Long.class)
+                .getSingleResult());
+    }
+
+    private Run insert(String prefix, int rows) {
+        statistics.clear();
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(Student.builder()
+                        .username("layout." + prefix + i)
+                        .password("{noop}password")
+                        .email("layout." + prefix + i + "@example.com")
+                        .lastName("Layout")
+                        .studentId("LAYOUT-" + prefix + i)
+                        .role(Role.STUDENT)
+                        .enabled(true)
+                        .build());
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        return new Run(rows, (System.nanoTime() - started) / 1_000_000, statistics.getPrepareStatementCount());
+    }
+
+    // Each lookup in its own transaction, as CustomUserDetailsService does on a cache miss
+    private Run lookup(String prefix, int rows, int lookups) {
+        statistics.clear();
+        long started = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            String username = "layout." + prefix + (i % rows);
+            transactionTemplate.executeWithoutResult(status ->
+                    assertTrue(userRepository.findByUsername(username).isPresent()));
+        }
+        return new Run(lookups, (System.nanoTime() - started) / 1_000_000, statistics.getPrepareStatementCount());
+    }
+
+    private record Run(int operations, long millis, long statements) {
+        void print(String layout, String op) {
+            System.out.printf("%-14s %-8s %8d %12d %10d%n", layout, op, millis, statements,
+                    millis == 0 ? 0 : operations * 1000L / millis);
+        }
+    }
+}
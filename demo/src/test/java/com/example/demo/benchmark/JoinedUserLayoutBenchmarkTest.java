@@ -0,0 +1,13 @@
+package com.example.demo.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+// users + students + teachers: each lookup outer-joins both subclass tables, each insert writes two rows
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class JoinedUserLayoutBenchmarkTest extends AbstractUserLayoutBenchmark {
+
+    @Override
+    protected String layout() {
+        return "joined";
+    }
+}
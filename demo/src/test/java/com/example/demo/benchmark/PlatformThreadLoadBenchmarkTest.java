@@ -0,0 +1,14 @@
+package com.example.demo.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Tomcat's worker pool (200 platform threads); further connections wait to be accepted
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "spring.jpa.show-sql=false", "spring.threads.virtual.enabled=false" })
+class PlatformThreadLoadBenchmarkTest extends AbstractRequestLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
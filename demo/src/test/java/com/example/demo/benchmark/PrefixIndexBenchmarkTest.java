@@ -0,0 +1,55 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.search.PrefixIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Build time and query latency of the in-memory search index at a size well beyond the demo data.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+class PrefixIndexBenchmarkTest {
+
+    private static final int ENTRIES = 100_000;
+    private static final int QUERIES = 20_000;
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez"
+    };
+    private static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "History" };
+
+    @Test
+    void measureBuildAndQuery() {
+        Random random = new Random(42);
+        PrefixIndex index = new PrefixIndex();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < ENTRIES; i++) {
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + (i % 1000);
+            String firstName = "First" + i;
+            index.put(i, lastName + " " + firstName, firstName, lastName,
+                    firstName.toLowerCase() + "@example.com", "STU" + i, DEPARTMENTS[i % DEPARTMENTS.length]);
+        }
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+
+        String[] queries = { "smi", "garcia12", "stu9999", "first5000", "physics mill", "dav 42" };
+        // Warm up the JIT before measuring
+        for (int i = 0; i < 2000; i++) {
+            index.search(queries[i % queries.length]);
+        }
+
+        started = System.nanoTime();
+        long matches = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            matches += index.search(queries[i % queries.length]).size();
+        }
+        long queryNanos = System.nanoTime() - started;
+
+        System.out.printf("entries=%d build=%dms queries=%d avg=%.3fms matches=%d%n",
+                ENTRIES, buildMillis, QUERIES, queryNanos / 1_000_000.0 / QUERIES, matches);
+        assertEquals(ENTRIES, index.size());
+        assertEquals(1, index.search("first12345").size());
+    }
+}
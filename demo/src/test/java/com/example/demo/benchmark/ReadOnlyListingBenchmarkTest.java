@@ -0,0 +1,150 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.StudentDTO;
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Lists 50k students as entities and converts them to DTOs, once in a read-write transaction and
+// once in a read-only one. Read-only sessions keep no loaded-state snapshot per entity, so they
+// retain less heap and the flush has nothing to dirty-check. Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ReadOnlyListingBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+    private static final int FLUSH_EVERY = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readWrite.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(Student.builder()
+                        .username("bench.list" + i)
+                        .password("{noop}password")
+                        .email("bench.list" + i + "@example.com")
+                        .firstName("Student")
+                        .lastName("Bench")
+                        .studentId("BENCH-LIST" + i)
+                        .year(1 + i % 4)
+                        .role(Role.STUDENT)
+                        .enabled(true)
+                        .build());
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        readWrite.executeWithoutResult(status -> entityManager
+                .createQuery("delete from Student s where s.username like 'bench.%'")
+                .executeUpdate());
+    }
+
+    @Test
+    void compareManagedAndReadOnlyListing() {
+        // Warm up the JIT and connection pool before measuring
+        list(readWrite);
+        list(readOnly);
+
+        Run managed = list(readWrite);
+        Run readOnlyRun = list(readOnly);
+
+        System.out.printf("%-10s %8s %8s %12s %14s%n", "mode", "load ms", "flush ms", "retained MB", "allocated MB");
+        managed.print("managed");
+        readOnlyRun.print("read-only");
+
+        assertEquals(ROWS, managed.rows);
+        assertEquals(ROWS, readOnlyRun.rows);
+        assertFalse(managed.entitiesReadOnly);
+        assertTrue(readOnlyRun.entitiesReadOnly, "entities loaded in a read-only transaction should be read-only");
+    }
+
+    private Run list(TransactionTemplate template) {
+        return template.execute(status -> {
+            long heapBefore = usedHeapAfterGc();
+            long allocatedBefore = allocatedBytes();
+
+            long started = System.nanoTime();
+            List<Student> students = entityManager
+                    .createQuery("select s from Student s where s.username like 'bench.%'", Student.class)
+                    .getResultList();
+            List<StudentDTO> rows = students.stream().map(ReadOnlyListingBenchmarkTest::toDTO).toList();
+            long loadNanos = System.nanoTime() - started;
+
+            // Entities, snapshots and DTOs are all still reachable from the open persistence context
+            long retained = usedHeapAfterGc() - heapBefore;
+
+            started = System.nanoTime();
+            entityManager.flush();
+            long flushNanos = System.nanoTime() - started;
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            boolean entitiesReadOnly = entityManager.unwrap(Session.class).isReadOnly(students.get(0));
+            entityManager.clear();
+            return new Run(rows.size(), loadNanos, flushNanos, retained, allocated, entitiesReadOnly);
+        });
+    }
+
+    private static StudentDTO toDTO(Student student) {
+        return StudentDTO.builder()
+                .id(student.getId())
+                .username(student.getUsername())
+                .email(student.getEmail())
+                .firstName(student.getFirstName())
+                .lastName(student.getLastName())
+                .studentId(student.getStudentId())
+                .year(student.getYear())
+                .build();
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private record Run(int rows, long loadNanos, long flushNanos, long retainedBytes, long allocatedBytes,
+            boolean entitiesReadOnly) {
+        void print(String mode) {
+            System.out.printf("%-10s %8d %8d %12.1f %14.1f%n", mode, loadNanos / 1_000_000, flushNanos / 1_000_000,
+                    retainedBytes / 1_048_576.0, allocatedBytes / 1_048_576.0);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Everything in users, told apart by user_type: one table per lookup, one row per insert
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("single-table")
+class SingleTableUserLayoutBenchmarkTest extends AbstractUserLayoutBenchmark {
+
+    @Override
+    protected String layout() {
+        return "single-table";
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Insert throughput for the JOINED users/students tables. "Row by row" flushes after every
+// persist, which is what IDENTITY ids force on Hibernate; "batched" relies on the pooled
+// sequence and hibernate.jdbc.batch_size. Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class StudentInsertBenchmarkTest {
+
+    private static final int ROWS = 5000;
+    private static final int FLUSH_EVERY = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("delete from Student s where s.username like 'bench.%'")
+                .executeUpdate());
+    }
+
+    @Test
+    void compareRowByRowAndBatchedInserts() {
+        // Warm up the JIT and connection pool before measuring
+        insert("warmup", 500, true);
+        insert("warmup2", 500, false);
+
+        Run rowByRow = insert("row", ROWS, true);
+        Run batched = insert("batch", ROWS, false);
+
+        System.out.printf("%-12s %8s %12s %10s%n", "mode", "ms", "statements", "rows/s");
+        rowByRow.print("row-by-row");
+        batched.print("batched");
+
+        assertTrue(batched.statements * 10 < rowByRow.statements,
+                "batched inserts should prepare far fewer statements than row-by-row inserts");
+    }
+
+    private Run insert(String prefix, int rows, boolean flushEachRow) {
+        statistics.clear();
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(Student.builder()
+                        .username("bench." + prefix + i)
+                        .password("{noop}password")
+                        .email("bench." + prefix + i + "@example.com")
+                        .lastName("Bench")
+                        .studentId("BENCH-" + prefix + i)
+                        .role(Role.STUDENT)
+                        .enabled(true)
+                        .build());
+                if (flushEachRow || (i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        return new Run(rows, millis, statistics.getPrepareStatementCount());
+    }
+
+    private record Run(int rows, long millis, long statements) {
+        void print(String mode) {
+            System.out.printf("%-12s %8d %12d %10d%n", mode, millis, statements,
+                    millis == 0 ? 0 : rows * 1000L / millis);
+        }
+    }
+}
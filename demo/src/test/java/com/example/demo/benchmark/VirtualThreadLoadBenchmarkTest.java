@@ -0,0 +1,19 @@
+package com.example.demo.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Virtual threads need a Java 21 runtime; on an older JDK this class is skipped
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("virtual-threads")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadBenchmarkTest extends AbstractRequestLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.pool-name=test-pool",
+        "spring.datasource.hikari.maximum-pool-size=4"
+})
+class ConnectionPoolEndpointTest {
+
+    @Autowired
+    private ConnectionPoolEndpoint connectionPoolEndpoint;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testReportsBorrowedConnections() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            ConnectionPoolEndpoint.PoolStatus status = connectionPoolEndpoint.pools().get("test-pool");
+
+            assertNotNull(status);
+            // The scheduled workers may hold a connection of their own at the same moment
+            assertTrue(status.active() >= 2, () -> "active: " + status.active());
+            assertEquals(4, status.max());
+            assertEquals(status.active() / 4.0, status.saturation());
+        }
+    }
+}
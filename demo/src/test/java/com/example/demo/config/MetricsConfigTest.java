@@ -0,0 +1,84 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.service.CourseService;
+import com.example.demo.web.RequestStatementMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Test
+    void testServiceCallsAreTimedByEntityAndMethod() {
+        courseService.getAllCourses();
+        assertThrows(RuntimeException.class, () -> courseService.getCourseById(-1L));
+
+        Timer success = meterRegistry.find(ServiceMetricsInterceptor.METRIC_NAME)
+                .tags("service", "CourseService", "entity", "Course", "method", "getAllCourses", "exception", "none")
+                .timer();
+        assertNotNull(success);
+        assertTrue(success.count() >= 1);
+
+        Timer failure = meterRegistry.find(ServiceMetricsInterceptor.METRIC_NAME)
+                .tags("entity", "Course", "method", "getCourseById", "exception", "ResourceNotFoundException")
+                .timer();
+        assertNotNull(failure);
+        assertTrue(failure.count() >= 1);
+    }
+
+    @Test
+    void testRepositoryCallsAreTaggedWithEntity() {
+        courseRepository.count();
+
+        Timer timer = meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "CourseRepository", "entity", "Course", "method", "count")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    void testStatementsAreCountedPerPage() throws Exception {
+        mockMvc.perform(get("/courses").with(user("admin").roles("TEACHER")))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(RequestStatementMetrics.METRIC_NAME)
+                .tags("method", "GET", "uri", "/courses")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.totalAmount() >= 1, "listing courses should run at least one statement");
+    }
+
+    @Test
+    void testHibernateStatisticsAreBound() {
+        courseService.getAllCourses();
+
+        assertNotNull(meterRegistry.find("hibernate.query.executions").functionCounter());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.CourseDTO;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.service.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two H2 databases: the replica gets the primary's schema plus one course that exists only there, so
+// where a read came from shows in its result. The lag query reads a table the test controls.
+@SpringBootTest(properties = {
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica-routing.lag-query=select seconds from replica_lag",
+        "app.datasource.replica-routing.max-lag=1s",
+        "app.datasource.replica-routing.check-interval-ms=3600000"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        for (String statement : new JdbcTemplate(primaryDataSource).queryForList("script nodata", String.class)) {
+            replica.execute(statement);
+        }
+        replica.update("insert into courses (id, name, code, enrolled_count) values (9001, 'Replica Only', 'REPLICA1', 0)");
+        replica.execute("create table replica_lag (seconds double)");
+        replica.update("insert into replica_lag values (0)");
+        replicaRoutingDataSource.checkLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.execute("drop all objects");
+        replicaRoutingDataSource.checkLag();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplica() throws InterruptedException {
+        awaitReplicaInUse();
+
+        assertTrue(courseCodes().contains("REPLICA1"));
+        assertEquals("Replica Only", courseService.getCourseById(9001L).getName());
+    }
+
+    @Test
+    void testWritesAndReadsAfterWritesUsePrimary() throws InterruptedException {
+        awaitReplicaInUse();
+
+        assertEquals(Boolean.FALSE, transactionTemplate.execute(status -> courseRepository.existsByCode("REPLICA1")));
+        // The read-write transaction above just committed, so reads stay on the primary for max-lag
+        assertFalse(replicaRoutingDataSource.isReplicaInUse());
+        assertFalse(courseCodes().contains("REPLICA1"));
+
+        awaitReplicaInUse();
+        assertTrue(courseCodes().contains("REPLICA1"));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() throws InterruptedException {
+        awaitReplicaInUse();
+
+        replica.update("update replica_lag set seconds = 60");
+        replicaRoutingDataSource.checkLag();
+
+        assertFalse(replicaRoutingDataSource.isReplicaInUse());
+        assertFalse(courseCodes().contains("REPLICA1"));
+    }
+
+    @Test
+    void testUnreachableReplicaFallsBackToPrimary() {
+        replica.execute("drop table replica_lag");
+        replicaRoutingDataSource.checkLag();
+
+        assertFalse(replicaRoutingDataSource.isReplicaInUse());
+        assertFalse(courseCodes().contains("REPLICA1"));
+    }
+
+    private List<String> courseCodes() {
+        return courseService.getAllCourses().stream().map(CourseDTO::getCode).toList();
+    }
+
+    // Startup data and earlier tests commit writes, which keep reads on the primary for max-lag
+    private void awaitReplicaInUse() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!replicaRoutingDataSource.isReplicaInUse()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Replica never came into use");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.Course;
+import com.example.demo.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CourseViewConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Course course;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setName("Conditional Views");
+        course.setCode("COND101");
+        course.setCredits(3);
+        entityManager.persist(course);
+        entityManager.flush();
+        session = new MockHttpSession();
+    }
+
+    @Test
+    void testUnchangedCourseIsNotModified() throws Exception {
+        String etag = firstView();
+
+        mockMvc.perform(view().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void testEnrollmentChangeRendersAgain() throws Exception {
+        String etag = firstView();
+
+        courseRepository.reserveSeat(course.getId());
+
+        mockMvc.perform(view().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("1 / Unlimited")));
+    }
+
+    @Test
+    void testOtherSessionRendersAgain() throws Exception {
+        String etag = firstView();
+
+        mockMvc.perform(get("/courses/view/{id}", course.getId())
+                        .session(new MockHttpSession())
+                        .with(user("admin").roles("TEACHER"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String firstView() throws Exception {
+        return mockMvc.perform(view())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private MockHttpServletRequestBuilder view() {
+        return get("/courses/view/{id}", course.getId())
+                .session(session)
+                .with(user("admin").roles("TEACHER"));
+    }
+}
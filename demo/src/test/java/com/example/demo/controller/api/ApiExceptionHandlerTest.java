@@ -0,0 +1,41 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.entity.Course;
+import com.example.demo.service.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ProblemDetail;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void testRejectedRequestIsBadRequestWithMessage() {
+        ProblemDetail problem = handler.handleInvalidRequest(new InvalidRequestException("Department not found"));
+
+        assertEquals(400, problem.getStatus());
+        assertEquals("Department not found", problem.getDetail());
+    }
+
+    @Test
+    void testConcurrentUpdateIsConflict() {
+        ProblemDetail problem = handler.handleConcurrentUpdate(
+                new ObjectOptimisticLockingFailureException(Course.class, 1L));
+
+        assertEquals(409, problem.getStatus());
+        assertFalse(problem.getDetail().contains("Course"));
+    }
+
+    @Test
+    void testUnexpectedErrorsHideTheirMessage() {
+        ProblemDetail problem = handler.handleUnexpected(new DataIntegrityViolationException(
+                "could not execute statement [insert into users (email) values (?)]"));
+
+        assertEquals(500, problem.getStatus());
+        assertNull(problem.getDetail());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.controller.api;
+
+import com.example.demo.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the list endpoint streams on the async request thread in its own transaction,
+// so it only sees committed rows
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics")
+@AutoConfigureMockMvc
+class StudentApiControllerTest {
+
+    private static final String STUDENT_JSON = """
+            {"username": "api.student", "password": "secret123", "email": "api.student@example.com",
+             "firstName": "Api", "lastName": "Student", "studentId": "API001", "year": 2}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.findByUsername("api.student").ifPresent(studentRepository::delete);
+    }
+
+    @Test
+    void testCreateListAndDelete() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/v1/students")
+                        .with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(STUDENT_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.studentId").value("API001"))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andReturn();
+        String location = created.getResponse().getHeader("Location");
+
+        MvcResult list = mockMvc.perform(get("/api/v1/students").with(httpBasic("admin", "admin123")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(list))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[?(@.studentId == 'API001')].username").value("api.student"));
+
+        mockMvc.perform(delete(location).with(httpBasic("admin", "admin123")))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(location).with(httpBasic("admin", "admin123")))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value(startsWith("Student not found")));
+    }
+
+    @Test
+    void testMalformedIdIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/students/abc").with(httpBasic("admin", "admin123")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testDuplicateFieldsAreConflict() throws Exception {
+        mockMvc.perform(post("/api/v1/students")
+                        .with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(STUDENT_JSON))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/students")
+                        .with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(STUDENT_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.fieldErrors.username").exists())
+                .andExpect(jsonPath("$.fieldErrors.studentId").exists());
+    }
+
+    @Test
+    void testRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/v1/students"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/students").with(httpBasic("admin", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testHtmlPagesDoNotAcceptBasicCredentials() throws Exception {
+        mockMvc.perform(get("/students").with(httpBasic("admin", "admin123")))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(header().doesNotExist("WWW-Authenticate"))
+                .andExpect(redirectedUrl("/login"));
+    }
+
+    @Test
+    void testActuatorAcceptsBasicCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists("WWW-Authenticate"));
+    }
+}
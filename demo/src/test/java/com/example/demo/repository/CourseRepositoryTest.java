@@ -1,9 +1,13 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.CourseDTO;
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.entity.Course;
 import com.example.demo.entity.Dept;
 import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
 import com.example.demo.entity.Teacher;
+import com.example.demo.entity.WaitlistEntry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.BeforeEach;
@@ -68,6 +72,21 @@ class CourseRepositoryTest {
         course.setTeacher(teacher);
     }
 
+    @Test
+    void testSavingCourseDoesNotWriteEnrolledCount() {
+        Course savedCourse = courseRepository.saveAndFlush(course);
+
+        // Only the counter queries in CourseRepository may change the seat count
+        savedCourse.setEnrolledCount(5);
+        savedCourse.setName("Data Structures II");
+        courseRepository.saveAndFlush(savedCourse);
+        entityManager.clear();
+
+        Course reloaded = courseRepository.findById(savedCourse.getId()).orElseThrow();
+        assertEquals("Data Structures II", reloaded.getName());
+        assertEquals(0, reloaded.getEnrolledCount());
+    }
+
     @Test
     void testSaveCourse() {
         Course savedCourse = courseRepository.save(course);
@@ -213,4 +232,96 @@ class CourseRepositoryTest {
         assertEquals("Advanced Data Structures", updatedCourse.getName());
         assertEquals(4, updatedCourse.getCredits());
     }
+
+    @Test
+    void testFindSummariesByDepartmentId() {
+        entityManager.persist(course);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CourseDTO> summaries = courseRepository.findSummariesByDepartmentId(department.getId());
+
+        assertEquals(1, summaries.size());
+        assertEquals("CS101", summaries.get(0).getCode());
+        assertEquals("CS Test Course", summaries.get(0).getDepartmentName());
+        assertEquals("Jane Smith", summaries.get(0).getTeacherName());
+    }
+
+    @Test
+    void testReserveSeat_StopsAtCapacity() {
+        course.setCapacity(2);
+        entityManager.persist(course);
+        entityManager.flush();
+
+        assertEquals(1, courseRepository.reserveSeat(course.getId()));
+        assertEquals(1, courseRepository.reserveSeat(course.getId()));
+        assertEquals(0, courseRepository.reserveSeat(course.getId()));
+
+        entityManager.refresh(course);
+        assertEquals(2, course.getEnrolledCount());
+    }
+
+    @Test
+    void testReserveSeat_UnlimitedCapacity() {
+        entityManager.persist(course);
+        entityManager.flush();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, courseRepository.reserveSeat(course.getId()));
+        }
+
+        entityManager.refresh(course);
+        assertEquals(5, course.getEnrolledCount());
+    }
+
+    @Test
+    void testReserveSeat_RefusedWhileOthersAreWaiting() {
+        entityManager.persist(course);
+        Student waiting = Student.builder()
+                .username("waiting.student")
+                .password("password123")
+                .email("waiting.student@example.com")
+                .lastName("Waiting")
+                .studentId("WAITING1")
+                .role(Role.STUDENT)
+                .enabled(true)
+                .build();
+        entityManager.persist(waiting);
+        entityManager.persist(new WaitlistEntry(waiting, course));
+        entityManager.flush();
+
+        // Unlimited capacity, but the free seat belongs to the head of the waitlist
+        assertEquals(0, courseRepository.reserveSeat(course.getId()));
+    }
+
+    @Test
+    void testReleaseSeat_NeverBelowZero() {
+        entityManager.persist(course);
+        entityManager.flush();
+
+        assertEquals(0, courseRepository.releaseSeat(course.getId()));
+    }
+
+    @Test
+    void testVersionStampFollowsSeatsAndJoinedRows() {
+        entityManager.persist(course);
+        entityManager.flush();
+        String initial = courseRepository.findVersionStampById(course.getId()).orElseThrow().getTag();
+
+        // The bulk seat UPDATE bypasses the entity but still bumps the version
+        courseRepository.reserveSeat(course.getId());
+        entityManager.refresh(course);
+        assertEquals(1L, course.getVersion());
+        String afterSeat = courseRepository.findVersionStampById(course.getId()).orElseThrow().getTag();
+        assertNotEquals(initial, afterSeat);
+
+        // Renaming the teacher changes the course page too
+        teacher.setLastName("Jones");
+        entityManager.flush();
+        VersionStamp afterRename = courseRepository.findVersionStampById(course.getId()).orElseThrow();
+        assertNotEquals(afterSeat, afterRename.getTag());
+        assertNotNull(afterRename.getLastModified());
+
+        assertTrue(courseRepository.findVersionStampById(-1L).isEmpty());
+    }
 }
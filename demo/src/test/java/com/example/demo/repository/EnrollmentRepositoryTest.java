@@ -0,0 +1,100 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Dept;
+import com.example.demo.entity.Enrollment;
+import com.example.demo.entity.EnrollmentId;
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class EnrollmentRepositoryTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private Student student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        Dept department = Dept.builder()
+                .name("Enrollment Test Dept")
+                .description("Enrollment Department")
+                .build();
+        entityManager.persist(department);
+
+        student = Student.builder()
+                .username("enrolled.student")
+                .password("password123")
+                .email("enrolled.student@example.com")
+                .firstName("Enrolled")
+                .lastName("Student")
+                .studentId("STUENR001")
+                .year(1)
+                .department(department)
+                .role(Role.STUDENT)
+                .enabled(true)
+                .build();
+        entityManager.persist(student);
+
+        course = new Course();
+        course.setName("Enrollment 101");
+        course.setCode("ENR101");
+        course.setCredits(3);
+        course.setDepartment(department);
+        entityManager.persist(course);
+        entityManager.flush();
+    }
+
+    @Test
+    void testSaveEnrollment() {
+        enrollmentRepository.save(new Enrollment(student, course));
+        entityManager.flush();
+
+        assertTrue(enrollmentRepository.existsById(new EnrollmentId(student.getId(), course.getId())));
+    }
+
+    @Test
+    void testSaveEnrollment_WithReferences() {
+        entityManager.clear();
+
+        enrollmentRepository.save(new Enrollment(
+                entityManager.getReference(Student.class, student.getId()),
+                entityManager.getReference(Course.class, course.getId())));
+        entityManager.flush();
+
+        assertTrue(enrollmentRepository.existsById(new EnrollmentId(student.getId(), course.getId())));
+    }
+
+    @Test
+    void testDeleteByStudentIdAndCourseId() {
+        enrollmentRepository.save(new Enrollment(student, course));
+        entityManager.flush();
+
+        int deleted = enrollmentRepository.deleteByStudentIdAndCourseId(student.getId(), course.getId());
+
+        assertEquals(1, deleted);
+        assertFalse(enrollmentRepository.existsById(new EnrollmentId(student.getId(), course.getId())));
+    }
+
+    @Test
+    void testDeleteByStudentIdAndCourseId_NotEnrolled() {
+        int deleted = enrollmentRepository.deleteByStudentIdAndCourseId(student.getId(), course.getId());
+
+        assertEquals(0, deleted);
+    }
+}
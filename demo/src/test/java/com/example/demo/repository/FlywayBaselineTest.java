@@ -0,0 +1,104 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Dept;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Starts from a database that ddl-auto=update created before migrations existed: the V1 schema
+// without Flyway's history table, Hibernate's hashed constraint names and rows with IDENTITY ids.
+// Baselining it at V1 has to bring it to the schema validate expects. Skipped when Docker is not
+// available.
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayBaselineTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DeptRepository deptRepository;
+
+    // Runs before the application context, and with it Flyway, starts
+    @BeforeAll
+    static void createUnmigratedDatabase() throws Exception {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(new ClassPathResource("db/migration/V1__baseline.sql")
+                    .getContentAsString(StandardCharsets.UTF_8));
+            statement.execute("alter table users rename constraint users_username_key to ukr43af9ap4edm43mmtq01oddj6");
+            statement.execute("alter table users rename constraint users_email_key to uk6dotkott2kjsp8vw4d0m25fb7");
+
+            statement.execute("insert into departments (name) values ('Physics')");
+            statement.execute("insert into users (username, password, email, role, enabled) values "
+                    + "('ann', 'x', 'ann@example.com', 'STUDENT', true), "
+                    + "('bob', 'x', 'bob@example.com', 'TEACHER', true)");
+            statement.execute("insert into students (id, student_id, department_id) "
+                    + "select u.id, 'STU001', d.id from users u, departments d where u.username = 'ann'");
+            statement.execute("insert into teachers (id, employee_id) select id, 'EMP001' from users where username = 'bob'");
+            statement.execute("insert into courses (name, code, teacher_id) "
+                    + "select 'Optics', 'PHY101', id from users where username = 'bob'");
+            statement.execute("insert into student_courses (student_id, course_id) "
+                    + "select s.id, c.id from students s, courses c");
+        }
+    }
+
+    @Test
+    void testBaselinedDatabaseReceivesEveryLaterMigration() {
+        List<String> applied = jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where success order by installed_rank", String.class);
+
+        assertEquals("1", applied.get(0));
+        assertTrue(applied.containsAll(List.of("1.1", "1.2", "1.3", "1.4", "2", "3", "4", "5")), applied::toString);
+    }
+
+    @Test
+    void testEnrolledCountStartsFromExistingEnrollments() {
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select enrolled_count from courses where code = 'PHY101'", Integer.class));
+    }
+
+    @Test
+    void testUniqueConstraintsHaveTheMappedNames() {
+        List<String> names = jdbcTemplate.queryForList(
+                "select conname from pg_constraint where contype = 'u'", String.class);
+
+        assertTrue(names.containsAll(List.of("uk_users_username", "uk_users_email",
+                "uk_students_student_id", "uk_teachers_employee_id")), names::toString);
+    }
+
+    @Test
+    void testSequencesContinueAboveExistingIds() {
+        Long physics = jdbcTemplate.queryForObject("select id from departments where name = 'Physics'", Long.class);
+
+        Dept chemistry = deptRepository.save(Dept.builder().name("Chemistry").build());
+
+        assertTrue(chemistry.getId() > physics);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.repository;
+
+import com.example.demo.search.StudentSearch;
+import com.example.demo.web.RequestStatementMetrics;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+// Runs the Flyway migrations against a throwaway Postgres (the context only starts if
+// ddl-auto=validate accepts the migrated schema) and checks the planner picks the lookup
+// indexes. Skipped when Docker is not available.
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.search.engine=database"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaIndexExplainTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentSearch studentSearch;
+
+    // The application's StatementInspector, so the test sees the SQL Hibernate actually sends
+    @MockitoSpyBean
+    private RequestStatementMetrics requestStatementMetrics;
+
+    @Test
+    void testStudentsByDepartmentUseIndex() {
+        assertUsesIndex("idx_students_department", "select id from students where department_id = 1");
+    }
+
+    @Test
+    void testTeachersByDepartmentUseIndex() {
+        assertUsesIndex("idx_teachers_department", "select id from teachers where department_id = 1");
+    }
+
+    @Test
+    void testCoursesByDepartmentUseIndex() {
+        assertUsesIndex("idx_courses_department_code",
+                "select id, code from courses where department_id = 1 order by code");
+    }
+
+    @Test
+    void testCoursesByTeacherUseIndex() {
+        assertUsesIndex("idx_courses_teacher", "select id from courses where teacher_id = 1");
+    }
+
+    @Test
+    void testCourseRosterUsesIndex() {
+        assertUsesIndex("idx_student_courses_course", "select student_id from student_courses where course_id = 1");
+    }
+
+    @Test
+    void testStudentIdAndEmployeeIdAreUniqueIndexed() {
+        assertUsesIndex("uk_students_student_id", "select id from students where student_id = 'STU001'");
+        assertUsesIndex("uk_teachers_employee_id", "select id from teachers where employee_id = 'EMP001'");
+    }
+
+    @Test
+    void testStudentKeysetPageUsesIndex() {
+        assertUsesIndex("idx_users_sort_name_id",
+                "select id from users where coalesce(last_name, '') >= 'M' "
+                        + "and (coalesce(last_name, '') > 'M' or id > 10) "
+                        + "order by coalesce(last_name, ''), id limit 20");
+    }
+
+    @Test
+    void testStudentSearchUsesTrigramIndexes() {
+        assertUsesIndex("idx_users_last_name_trgm", "select id from users where lower(last_name) like '%smi%'");
+        assertUsesIndex("idx_users_email_trgm", "select id from users where lower(email) like '%doe%'");
+        assertUsesIndex("idx_students_student_id_trgm",
+                "select id from students where lower(student_id) like '%001%'");
+        assertUsesIndex("idx_users_last_name_trgm", "select id from users where lower(last_name) % 'smiht'");
+    }
+
+    @Test
+    void testGeneratedStudentSearchUsesTrigramIndexes() {
+        studentSearch.search("smith jones", 0, 20);
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(requestStatementMetrics, atLeastOnce()).inspect(statements.capture());
+        String sql = statements.getAllValues().stream()
+                .filter(statement -> statement.contains(" union "))
+                .reduce((first, last) -> last)
+                .orElseThrow();
+        // Planned for the JDBC placeholders as they are, without binding values
+        String plan = explain("(generic_plan) " + numberPlaceholders(sql));
+
+        for (String index : List.of("idx_users_first_name_trgm", "idx_users_last_name_trgm",
+                "idx_users_email_trgm", "idx_students_student_id_trgm")) {
+            assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+        }
+    }
+
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = explain(sql);
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // The tables are empty, so a sequential scan is always cheapest; turn it off to
+                // see which index the planner would use once there is data
+                statement.execute("set enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery("explain " + sql)) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("reset enable_seqscan");
+                return plan.toString();
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.StudentDTO;
 import com.example.demo.entity.Dept;
 import com.example.demo.entity.Role;
 import com.example.demo.entity.Student;
@@ -9,10 +10,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -145,6 +148,20 @@ class StudentRepositoryTest {
         assertEquals(2, students.size());
     }
 
+    @Test
+    void testFindSummariesByDepartmentId() {
+        entityManager.persist(student);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<StudentDTO> summaries = studentRepository.findSummariesByDepartmentId(department.getId());
+
+        assertEquals(1, summaries.size());
+        assertEquals("STU001", summaries.get(0).getStudentId());
+        assertEquals("CS Test Dept", summaries.get(0).getDepartmentName());
+        assertNull(summaries.get(0).getPassword());
+    }
+
     @Test
     void testExistsByStudentId_True() {
         entityManager.persist(student);
@@ -162,6 +179,18 @@ class StudentRepositoryTest {
         assertFalse(exists);
     }
 
+    @Test
+    void testFindConflictingFields() {
+        entityManager.persist(student);
+        entityManager.flush();
+
+        assertEquals(List.of("username", "email", "studentId"),
+                studentRepository.findConflictingFields("john.doe", "john.doe@example.com", "STU001"));
+        assertEquals(List.of("email"),
+                studentRepository.findConflictingFields("someone.else", "john.doe@example.com", "STU999"));
+        assertTrue(studentRepository.findConflictingFields("someone.else", "else@example.com", "STU999").isEmpty());
+    }
+
     @Test
     void testDeleteStudent() {
         entityManager.persist(student);
@@ -216,4 +245,87 @@ class StudentRepositoryTest {
         assertEquals("newemail@example.com", updatedStudent.getEmail());
         assertEquals("5555555555", updatedStudent.getPhone());
     }
+
+    @Test
+    void testKeysetPagination() {
+        entityManager.persist(student);
+
+        Student student2 = Student.builder()
+                .username("amy.adams")
+                .password("password123")
+                .email("amy.adams@example.com")
+                .firstName("Amy")
+                .lastName("Adams")
+                .studentId("STU002")
+                .year(1)
+                .department(department)
+                .role(Role.STUDENT)
+                .enabled(true)
+                .build();
+        entityManager.persist(student2);
+
+        Student student3 = Student.builder()
+                .username("zed.zane")
+                .password("password123")
+                .email("zed.zane@example.com")
+                .firstName("Zed")
+                .lastName("Zane")
+                .studentId("STU003")
+                .year(4)
+                .department(department)
+                .role(Role.STUDENT)
+                .enabled(true)
+                .build();
+        entityManager.persist(student3);
+        entityManager.flush();
+
+        List<StudentDTO> first = studentRepository.findFirstPageAscending(PageRequest.of(0, 2));
+        assertEquals(List.of("Adams", "Doe"), first.stream().map(StudentDTO::getLastName).toList());
+
+        StudentDTO last = first.get(1);
+        List<StudentDTO> next = studentRepository.findPageAfter(last.getLastName(), last.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of("Zane"), next.stream().map(StudentDTO::getLastName).toList());
+
+        List<StudentDTO> previous = studentRepository.findPageBefore("Zane", student3.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of("Doe", "Adams"), previous.stream().map(StudentDTO::getLastName).toList());
+    }
+
+    @Test
+    void testKeysetPaginationWithoutLastName() {
+        entityManager.persist(student);
+        Student unnamed = Student.builder()
+                .username("no.surname")
+                .password("password123")
+                .email("no.surname@example.com")
+                .firstName("Mononym")
+                .studentId("STU004")
+                .role(Role.STUDENT)
+                .enabled(true)
+                .build();
+        entityManager.persist(unnamed);
+        entityManager.flush();
+
+        // A missing last name sorts as "", which is also what its cursor carries
+        List<StudentDTO> first = studentRepository.findFirstPageAscending(PageRequest.of(0, 1));
+        assertEquals(unnamed.getId(), first.get(0).getId());
+
+        List<StudentDTO> next = studentRepository.findPageAfter("", unnamed.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of("Doe"), next.stream().map(StudentDTO::getLastName).toList());
+
+        List<StudentDTO> previous = studentRepository.findPageBefore("Doe", student.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(unnamed.getId()), previous.stream().map(StudentDTO::getId).toList());
+    }
+
+    @Test
+    void testStreamAllSummaries() {
+        entityManager.persist(student);
+        entityManager.flush();
+
+        try (Stream<StudentDTO> students = studentRepository.streamAllSummaries()) {
+            List<StudentDTO> all = students.toList();
+            assertEquals(1, all.size());
+            assertEquals("STU001", all.get(0).getStudentId());
+            assertEquals("CS Test Dept", all.get(0).getDepartmentName());
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.TeacherDTO;
 import com.example.demo.entity.Dept;
 import com.example.demo.entity.Role;
 import com.example.demo.entity.Teacher;
@@ -210,4 +211,18 @@ class TeacherRepositoryTest {
         assertEquals("newemail@example.com", updatedTeacher.getEmail());
         assertEquals("Artificial Intelligence", updatedTeacher.getSpecialization());
     }
+
+    @Test
+    void testFindAllSummaries() {
+        entityManager.persist(teacher);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TeacherDTO> summaries = teacherRepository.findAllSummaries();
+
+        assertEquals(1, summaries.size());
+        assertEquals("EMP001", summaries.get(0).getEmployeeId());
+        assertEquals("CS Test Teacher", summaries.get(0).getDepartmentName());
+        assertNull(summaries.get(0).getPassword());
+    }
 }
@@ -0,0 +1,110 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.OptionDTO;
+import com.example.demo.dto.TeacherDTO;
+import com.example.demo.entity.Dept;
+import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.TeacherRepository;
+import com.example.demo.service.DepartmentChangedEvent;
+import com.example.demo.service.TeacherChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PickerOptionsTest {
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private DeptRepository deptRepository;
+
+    @InjectMocks
+    private PickerOptions pickerOptions;
+
+    @BeforeEach
+    void setUp() {
+        when(teacherRepository.findAllSummaries()).thenReturn(List.of(
+                teacher(1L, "Alan", "Turing", "EMP001"),
+                teacher(2L, "Ada", "Lovelace", "EMP002"),
+                teacher(3L, "Grace", "Hopper", "EMP003")));
+        when(deptRepository.findAll()).thenReturn(List.of(
+                Dept.builder().id(1L).name("Computer Science").build(),
+                Dept.builder().id(2L).name("Mathematics").build()));
+        pickerOptions.rebuild();
+    }
+
+    @Test
+    void testFindTeachersByNameOrEmployeeId() {
+        assertEquals(List.of("Ada Lovelace (EMP002)"), labels(pickerOptions.findTeachers("lov", 10)));
+        assertEquals(List.of("Alan Turing (EMP001)"), labels(pickerOptions.findTeachers("emp001", 10)));
+        // Equally good matches come in last name order
+        assertEquals(List.of("Grace Hopper (EMP003)", "Ada Lovelace (EMP002)", "Alan Turing (EMP001)"),
+                labels(pickerOptions.findTeachers("emp", 10)));
+        assertEquals(2, pickerOptions.findTeachers("emp", 2).size());
+        assertEquals(List.of(), pickerOptions.findTeachers("", 10));
+    }
+
+    @Test
+    void testFindDepartments() {
+        List<OptionDTO> options = pickerOptions.findDepartments("sci", 10);
+
+        assertEquals(1, options.size());
+        assertEquals(1L, options.get(0).getId());
+        assertEquals("Computer Science", options.get(0).getLabel());
+    }
+
+    @Test
+    void testTeacherChangeUpdatesOneEntry() {
+        when(teacherRepository.findSummaryById(2L))
+                .thenReturn(Optional.of(teacher(2L, "Ada", "King", "EMP002")));
+        when(teacherRepository.findSummaryById(3L)).thenReturn(Optional.empty());
+
+        pickerOptions.onTeacherChanged(new TeacherChangedEvent(2L));
+        pickerOptions.onTeacherChanged(new TeacherChangedEvent(3L));
+
+        assertEquals(List.of(), pickerOptions.findTeachers("lovelace", 10));
+        assertEquals(List.of("Ada King (EMP002)"), labels(pickerOptions.findTeachers("king", 10)));
+        assertEquals(List.of(), pickerOptions.findTeachers("hopper", 10));
+        assertNull(pickerOptions.teacherLabel(3L));
+        verify(teacherRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void testDepartmentChangeUpdatesOneEntry() {
+        when(deptRepository.findNameById(2L)).thenReturn(Optional.of("Applied Mathematics"));
+        when(deptRepository.findNameById(1L)).thenReturn(Optional.empty());
+
+        pickerOptions.onDepartmentChanged(new DepartmentChangedEvent(2L));
+        pickerOptions.onDepartmentChanged(new DepartmentChangedEvent(1L));
+
+        assertEquals("Applied Mathematics", pickerOptions.departmentLabel(2L));
+        assertEquals(List.of("Applied Mathematics"), labels(pickerOptions.findDepartments("appl", 10)));
+        assertNull(pickerOptions.departmentLabel(1L));
+        verify(deptRepository, never()).findById(anyLong());
+    }
+
+    private static TeacherDTO teacher(Long id, String firstName, String lastName, String employeeId) {
+        return TeacherDTO.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .employeeId(employeeId)
+                .email(firstName.toLowerCase() + "@example.com")
+                .build();
+    }
+
+    private static List<String> labels(List<OptionDTO> options) {
+        return options.stream().map(OptionDTO::getLabel).toList();
+    }
+}
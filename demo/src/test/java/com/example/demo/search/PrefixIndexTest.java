@@ -0,0 +1,60 @@
+package com.example.demo.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.put(1L, "Smith John", "John", "Smith", "john.smith@example.com", "STU001", "Computer Science");
+        index.put(2L, "Smithers Anna", "Anna", "Smithers", "anna@example.com", "STU002", "Mathematics");
+        index.put(3L, "Doe Jane", "Jane", "Doe", "jane.doe@example.com", "STU003", "Computer Science");
+    }
+
+    @Test
+    void testTokenize() {
+        assertEquals(List.of("john", "doe", "example", "com"), PrefixIndex.tokenize("John.Doe@example.com"));
+        assertEquals(List.of(), PrefixIndex.tokenize("  "));
+        assertEquals(List.of(), PrefixIndex.tokenize(null));
+    }
+
+    @Test
+    void testPrefixMatch() {
+        assertEquals(List.of(1L, 2L), index.search("smi"));
+        assertEquals(List.of(3L), index.search("stu003"));
+        assertEquals(List.of(), index.search("xyz"));
+    }
+
+    @Test
+    void testExactMatchRanksAbovePrefix() {
+        // Sorts last by name, but "smit" is an exact token here and only a prefix of the others
+        index.put(4L, "Zimmer Smit", "Smit", "Zimmer", "smit@example.com", "STU004", "Physics");
+        assertEquals(List.of(4L, 1L, 2L), index.search("smit"));
+    }
+
+    @Test
+    void testEveryTokenMustMatch() {
+        assertEquals(List.of(3L, 1L), index.search("computer"));
+        assertEquals(List.of(3L), index.search("computer jane"));
+        assertEquals(List.of(), index.search("mathematics jane"));
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDrops() {
+        index.put(3L, "Roe Jane", "Jane", "Roe", "jane.roe@example.com", "STU003", "Mathematics");
+        assertEquals(List.of(), index.search("doe"));
+        assertEquals(List.of(3L, 2L), index.search("mathematics"));
+
+        index.remove(1L);
+        assertEquals(List.of(2L), index.search("smi"));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+
+    @Test
+    void testRefusedAtLimitUntilOneLeaves() {
+        assertTrue(limiter.tryEnter("alice"));
+        assertTrue(limiter.tryEnter("alice"));
+        assertFalse(limiter.tryEnter("alice"));
+        assertTrue(limiter.tryEnter("bob"));
+
+        limiter.exit("alice");
+        assertTrue(limiter.tryEnter("alice"));
+    }
+
+    @Test
+    void testKeyStartsOverOnceIdle() {
+        assertTrue(limiter.tryEnter("alice"));
+        limiter.exit("alice");
+        // An exit without a matching enter does not hand out an extra place
+        limiter.exit("alice");
+
+        assertTrue(limiter.tryEnter("alice"));
+        assertTrue(limiter.tryEnter("alice"));
+        assertFalse(limiter.tryEnter("alice"));
+    }
+}
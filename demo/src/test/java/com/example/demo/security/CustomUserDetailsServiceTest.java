@@ -0,0 +1,131 @@
+package com.example.demo.security;
+
+import com.example.demo.dto.StudentDTO;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: cache puts are deferred until commit, so every call must commit on its own
+@SpringBootTest
+class CustomUserDetailsServiceTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCredentialsCache userCredentialsCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private StudentDTO student;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        student = studentService.createStudent(StudentDTO.builder()
+                .username("cached.login")
+                .password("password123")
+                .email("cached.login@example.com")
+                .lastName("Login")
+                .studentId("CACHE001")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentService.deleteStudent(student.getId());
+    }
+
+    @Test
+    void testRepeatedLoginRunsNoQueries() {
+        userDetailsService.loadUserByUsername("cached.login");
+
+        statistics.clear();
+        UserDetails details = userDetailsService.loadUserByUsername("cached.login");
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("cached.login", details.getUsername());
+        assertTrue(details.isEnabled());
+        assertTrue(details.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_STUDENT")));
+    }
+
+    @Test
+    void testErasedCredentialsDoNotLeakIntoCache() {
+        UserDetails first = userDetailsService.loadUserByUsername("cached.login");
+        ((CredentialsContainer) first).eraseCredentials();
+
+        UserDetails second = userDetailsService.loadUserByUsername("cached.login");
+
+        assertNotSame(first, second);
+        assertTrue(passwordEncoder.matches("password123", second.getPassword()));
+    }
+
+    @Test
+    void testPasswordChangeEvictsCachedCredentials() {
+        userDetailsService.loadUserByUsername("cached.login");
+
+        StudentDTO update = studentService.getStudentById(student.getId());
+        update.setPassword("newPassword456");
+        studentService.updateStudent(student.getId(), update);
+
+        UserDetails details = userDetailsService.loadUserByUsername("cached.login");
+        assertTrue(passwordEncoder.matches("newPassword456", details.getPassword()));
+    }
+
+    @Test
+    void testLoginRehashesPasswordWithOutdatedCost() {
+        String outdated = new BCryptPasswordEncoder(5).encode("password123");
+        transactionTemplate.executeWithoutResult(status -> userRepository.updatePassword("cached.login", outdated));
+        userCredentialsCache.evict("cached.login");
+
+        authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("cached.login", "password123"));
+
+        String stored = userRepository.findByUsername("cached.login").orElseThrow().getPassword();
+        assertNotEquals(outdated, stored);
+        assertFalse(passwordEncoder.upgradeEncoding(stored));
+        assertTrue(passwordEncoder.matches("password123", stored));
+        assertEquals(stored, userDetailsService.loadUserByUsername("cached.login").getPassword());
+    }
+
+    @Test
+    void testUnknownUser() {
+        assertThrows(UsernameNotFoundException.class,
+                () -> userDetailsService.loadUserByUsername("nobody.here"));
+    }
+}
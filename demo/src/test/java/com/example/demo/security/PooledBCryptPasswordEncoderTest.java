@@ -0,0 +1,93 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledBCryptPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PooledBCryptPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        encoder = new PooledBCryptPasswordEncoder(4, 2, 10, Duration.ofSeconds(5), meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void testUpgradeEncodingWhenCostDiffers() {
+        encoder = new PooledBCryptPasswordEncoder(5, 1, 10, Duration.ofSeconds(5), meterRegistry);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void testRejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        // Delegating stub: BCryptPasswordEncoder.encode is final, so it cannot be overridden to block
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+        // One worker and no queue: the second concurrent caller cannot be admitted
+        encoder = new PooledBCryptPasswordEncoder(blocking, 4, 1, 0, Duration.ofMillis(50), meterRegistry);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("second"));
+
+        release.countDown();
+        assertTrue(encoder.matches("first", first.get(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void testCalibrationStaysWithinBounds() {
+        assertEquals(4, PooledBCryptPasswordEncoder.calibrate(Duration.ofSeconds(10), 4, 4));
+        assertEquals(4, PooledBCryptPasswordEncoder.calibrate(Duration.ZERO, 4, 8));
+        assertEquals(6, PooledBCryptPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private RateLimitingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new RateLimitingAuthenticationProvider(delegate,
+                new SlidingWindowRateLimiter(2, Duration.ofMinutes(15), 100),
+                new SlidingWindowRateLimiter(3, Duration.ofMinutes(15), 100),
+                new ConcurrencyLimiter(4));
+    }
+
+    private static Authentication login(String username, String ip) {
+        UsernamePasswordAuthenticationToken token =
+                UsernamePasswordAuthenticationToken.unauthenticated(username, "wrong");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(ip);
+        token.setDetails(new WebAuthenticationDetails(request));
+        return token;
+    }
+
+    @Test
+    void testUsernameLockedOutBeforeDelegateRuns() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("alice", "10.0.0.1")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("Alice", "10.0.0.2")));
+        assertThrows(LoginRateLimitedException.class, () -> provider.authenticate(login("alice", "10.0.0.3")));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testIpLockedOutAcrossUsernames() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        for (String username : List.of("u1", "u2", "u3")) {
+            assertThrows(BadCredentialsException.class, () -> provider.authenticate(login(username, "10.0.0.9")));
+        }
+        assertThrows(LoginRateLimitedException.class, () -> provider.authenticate(login("u4", "10.0.0.9")));
+
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void testConcurrentLoginsAreNotCountedAsFailures() throws Exception {
+        Authentication success = UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of());
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return success;
+        });
+
+        // More attempts in flight than the failure limit of 2, none of them failing
+        List<Future<Authentication>> attempts = runConcurrently(4, release);
+
+        for (Future<Authentication> attempt : attempts) {
+            assertSame(success, attempt.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testAttemptsInFlightPerUserAreCapped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new BadCredentialsException("Bad credentials");
+        });
+
+        List<Future<Authentication>> attempts = runConcurrently(6, release);
+
+        int refused = 0;
+        for (Future<Authentication> attempt : attempts) {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> attempt.get(5, TimeUnit.SECONDS));
+            if (failure.getCause() instanceof AuthenticationServiceException) {
+                refused++;
+            } else {
+                assertInstanceOf(BadCredentialsException.class, failure.getCause());
+            }
+        }
+        assertEquals(2, refused);
+        verify(delegate, times(4)).authenticate(any());
+        // The four guesses that ran are recorded, so the next one is refused up front
+        assertThrows(LoginRateLimitedException.class, () -> provider.authenticate(login("alice", "10.0.0.2")));
+    }
+
+    // Starts the attempts for alice and returns once every one has either reached the delegate or been
+    // refused, leaving those inside the delegate blocked until release is counted down
+    private List<Future<Authentication>> runConcurrently(int count, CountDownLatch release) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+        List<Future<Authentication>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                attempts.add(executor.submit(() -> provider.authenticate(login("alice", "10.0.0.1"))));
+            }
+            verify(delegate, timeout(2000).times(Math.min(count, 4))).authenticate(any());
+            Thread.sleep(100);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        return attempts;
+    }
+
+    @Test
+    void testSuccessfulLoginClearsUsernameFailures() {
+        Authentication success = UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of());
+        when(delegate.authenticate(any()))
+                .thenThrow(new BadCredentialsException("Bad credentials"))
+                .thenReturn(success)
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("alice", "10.0.0.1")));
+        assertSame(success, provider.authenticate(login("alice", "10.0.0.1")));
+        // Only one failure since the successful login, so the delegate is still consulted
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("alice", "10.0.0.1")));
+    }
+
+    @Test
+    void testSaturatedHashingPoolFailsLoginWithoutCounting() {
+        when(delegate.authenticate(any())).thenThrow(new PasswordHashingRejectedException("busy"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(AuthenticationServiceException.class,
+                    () -> provider.authenticate(login("alice", "10.0.0.1")));
+        }
+        verify(delegate, times(3)).authenticate(any());
+    }
+}
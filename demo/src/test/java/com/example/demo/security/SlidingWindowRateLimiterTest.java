@@ -0,0 +1,57 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final SlidingWindowRateLimiter limiter =
+            new SlidingWindowRateLimiter(3, Duration.ofMinutes(1), 100, clock::get);
+
+    @Test
+    void testLimitedAfterReachingLimit() {
+        limiter.record("alice");
+        limiter.record("alice");
+        assertFalse(limiter.isLimited("alice"));
+
+        limiter.record("alice");
+        assertTrue(limiter.isLimited("alice"));
+        assertFalse(limiter.isLimited("bob"));
+    }
+
+    @Test
+    void testPreviousWindowDecaysAsWindowSlides() {
+        limiter.record("alice");
+        limiter.record("alice");
+        limiter.record("alice");
+
+        // A quarter into the next window, 75% of the previous window still counts: 2.25 < 3
+        clock.addAndGet(MINUTE + MINUTE / 4);
+        assertFalse(limiter.isLimited("alice"));
+
+        limiter.record("alice");
+        assertTrue(limiter.isLimited("alice"));
+
+        // Two full windows later nothing is left
+        clock.addAndGet(2 * MINUTE);
+        assertFalse(limiter.isLimited("alice"));
+    }
+
+    @Test
+    void testReset() {
+        limiter.record("alice");
+        limiter.record("alice");
+        limiter.record("alice");
+
+        limiter.reset("alice");
+
+        assertFalse(limiter.isLimited("alice"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CourseDTO;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Dept;
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Teacher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CourseCatalogStatementCountTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseService courseService;
+
+    private Statistics statistics;
+    private Course firstCourse;
+
+    @BeforeEach
+    void setUp() {
+        Dept department = Dept.builder()
+                .name("Catalog Test Dept")
+                .description("Catalog Department")
+                .build();
+        entityManager.persist(department);
+
+        // Several teachers so a lazy catalog would need one extra SELECT per teacher
+        for (int i = 0; i < 3; i++) {
+            Teacher teacher = new Teacher();
+            teacher.setUsername("catalog.teacher" + i);
+            teacher.setPassword("password123");
+            teacher.setEmail("catalog.teacher" + i + "@example.com");
+            teacher.setFirstName("Teacher");
+            teacher.setLastName("Number" + i);
+            teacher.setEmployeeId("EMPCAT" + i);
+            teacher.setRole(Role.TEACHER);
+            teacher.setEnabled(true);
+            teacher.setDepartment(department);
+            entityManager.persist(teacher);
+
+            for (int j = 0; j < 2; j++) {
+                Course course = new Course();
+                course.setName("Catalog Course " + i + "-" + j);
+                course.setCode("CAT" + i + j);
+                course.setCredits(3);
+                course.setDepartment(department);
+                course.setTeacher(teacher);
+                entityManager.persist(course);
+                if (firstCourse == null) {
+                    firstCourse = course;
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetAllCourses_SingleStatement() {
+        List<CourseDTO> catalog = courseService.getAllCourses();
+
+        assertTrue(catalog.size() >= 6);
+        assertTrue(catalog.stream().filter(c -> c.getCode().startsWith("CAT"))
+                .allMatch(c -> c.getTeacherName().startsWith("Teacher Number")
+                        && "Catalog Test Dept".equals(c.getDepartmentName())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetCourseById_SingleStatement() {
+        CourseDTO course = courseService.getCourseById(firstCourse.getId());
+
+        assertEquals("CAT00", course.getCode());
+        assertEquals("Teacher Number0", course.getTeacherName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetCoursesByDepartment_SingleStatement() {
+        List<CourseDTO> courses = courseService.getCoursesByDepartment(firstCourse.getDepartment().getId());
+
+        assertEquals(6, courses.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -32,6 +33,9 @@ class CourseServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -77,49 +81,50 @@ class CourseServiceTest {
 
     @Test
     void testGetAllCourses() {
-        when(courseRepository.findAll()).thenReturn(Arrays.asList(course));
+        when(courseRepository.findAllSummaries()).thenReturn(Arrays.asList(courseDTO));
 
         List<CourseDTO> result = courseService.getAllCourses();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("CS101", result.get(0).getCode());
-        verify(courseRepository, times(1)).findAll();
+        verify(courseRepository, times(1)).findAllSummaries();
+        verify(courseRepository, never()).findAll();
     }
 
     @Test
     void testGetCourseById_Success() {
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(courseRepository.findSummaryById(1L)).thenReturn(Optional.of(courseDTO));
 
         CourseDTO result = courseService.getCourseById(1L);
 
         assertNotNull(result);
         assertEquals("CS101", result.getCode());
         assertEquals("Data Structures", result.getName());
-        verify(courseRepository, times(1)).findById(1L);
+        verify(courseRepository, times(1)).findSummaryById(1L);
     }
 
     @Test
     void testGetCourseById_NotFound() {
-        when(courseRepository.findById(1L)).thenReturn(Optional.empty());
+        when(courseRepository.findSummaryById(1L)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> courseService.getCourseById(1L));
 
         assertTrue(exception.getMessage().contains("Course not found"));
-        verify(courseRepository, times(1)).findById(1L);
+        verify(courseRepository, times(1)).findSummaryById(1L);
     }
 
     @Test
     void testGetCoursesByDepartment() {
-        when(courseRepository.findByDepartmentId(1L)).thenReturn(Arrays.asList(course));
+        when(courseRepository.findSummariesByDepartmentId(1L)).thenReturn(Arrays.asList(courseDTO));
 
         List<CourseDTO> result = courseService.getCoursesByDepartment(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("CS101", result.get(0).getCode());
-        verify(courseRepository, times(1)).findByDepartmentId(1L);
+        verify(courseRepository, times(1)).findSummariesByDepartmentId(1L);
     }
 
     @Test
@@ -190,7 +195,7 @@ class CourseServiceTest {
 
     @Test
     void testUpdateCourse_Success() {
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(courseRepository.findWithDepartmentAndTeacherById(1L)).thenReturn(Optional.of(course));
         when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher));
         when(courseRepository.save(any(Course.class))).thenReturn(course);
@@ -205,7 +210,7 @@ class CourseServiceTest {
 
     @Test
     void testUpdateCourse_NotFound() {
-        when(courseRepository.findById(1L)).thenReturn(Optional.empty());
+        when(courseRepository.findWithDepartmentAndTeacherById(1L)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> courseService.updateCourse(1L, courseDTO));
@@ -214,6 +219,33 @@ class CourseServiceTest {
         verify(courseRepository, never()).save(any(Course.class));
     }
 
+    @Test
+    void testUpdateCourse_CapacityBelowEnrollment() {
+        course.setEnrolledCount(10);
+        courseDTO.setCapacity(5);
+        when(courseRepository.findWithDepartmentAndTeacherById(1L)).thenReturn(Optional.of(course));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> courseService.updateCourse(1L, courseDTO));
+
+        assertTrue(exception.getMessage().contains("Capacity cannot be lower"));
+        verify(courseRepository, never()).save(any(Course.class));
+    }
+
+    @Test
+    void testUpdateCourse_RaisedCapacityPromotesWaitlist() {
+        course.setCapacity(10);
+        courseDTO.setCapacity(20);
+        when(courseRepository.findWithDepartmentAndTeacherById(1L)).thenReturn(Optional.of(course));
+        when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher));
+        when(courseRepository.save(any(Course.class))).thenReturn(course);
+
+        courseService.updateCourse(1L, courseDTO);
+
+        verify(eventPublisher, times(1)).publishEvent(any(SeatReleasedEvent.class));
+    }
+
     @Test
     void testDeleteCourse_Success() {
         when(courseRepository.existsById(1L)).thenReturn(true);
@@ -0,0 +1,148 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DepartmentStatsDTO;
+import com.example.demo.dto.DeptDTO;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentStatsServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private DeptService deptService;
+
+    @InjectMocks
+    private DepartmentStatsService departmentStatsService;
+
+    @BeforeEach
+    void setUp() {
+        when(deptService.getAllDepartments()).thenReturn(List.of(
+                DeptDTO.builder().id(1L).name("Computer Science").build(),
+                DeptDTO.builder().id(2L).name("Mathematics").build()));
+        // Department 1: three first-years and one student without a year, two teachers,
+        // one 3-credit course with four students; course 11 has no department
+        when(studentRepository.countByDepartmentAndYear()).thenReturn(rows(
+                new Object[] { 1L, 1, 3L },
+                new Object[] { 1L, null, 1L }));
+        when(teacherRepository.countByDepartment()).thenReturn(rows(
+                new Object[] { 1L, 2L }));
+        when(courseRepository.findEnrollmentTotals()).thenReturn(rows(
+                new Object[] { 10L, 1L, 3, 4 },
+                new Object[] { 11L, null, 4, 2 }));
+        departmentStatsService.refresh();
+    }
+
+    @Test
+    void testRefreshLoadsCounters() {
+        DepartmentStatsDTO cs = stats("Computer Science");
+
+        assertEquals(4, cs.getStudents());
+        assertEquals(Map.of(0, 1L, 1, 3L), cs.getStudentsByYear());
+        assertEquals(2, cs.getTeachers());
+        assertEquals(1, cs.getCourses());
+        assertEquals(12, cs.getEnrolledCredits());
+        assertEquals(0.5, cs.getTeacherLoad());
+
+        DepartmentStatsDTO math = stats("Mathematics");
+        assertEquals(0, math.getStudents());
+        assertEquals(0, math.getCourses());
+        assertEquals(0.0, math.getTeacherLoad());
+    }
+
+    @Test
+    void testStudentAndTeacherChanges() {
+        departmentStatsService.onChange(DepartmentStatsEvent.studentAdded(1L, 2));
+        departmentStatsService.onChange(DepartmentStatsEvent.studentRemoved(1L, 1));
+        departmentStatsService.onChange(DepartmentStatsEvent.studentAdded(null, 1));
+        departmentStatsService.onChange(DepartmentStatsEvent.teacherRemoved(1L));
+        departmentStatsService.onChange(DepartmentStatsEvent.teacherAdded(2L));
+
+        assertEquals(Map.of(0, 1L, 1, 2L, 2, 1L), stats("Computer Science").getStudentsByYear());
+        assertEquals(4, stats("Computer Science").getStudents());
+        assertEquals(1, stats("Computer Science").getTeachers());
+        assertEquals(1, stats("Mathematics").getTeachers());
+    }
+
+    @Test
+    void testEnrollmentChangesEnrolledCredits() {
+        departmentStatsService.onChange(DepartmentStatsEvent.enrollmentChanged(10L, 2));
+        assertEquals(18, stats("Computer Science").getEnrolledCredits());
+
+        departmentStatsService.onChange(DepartmentStatsEvent.enrollmentChanged(10L, -1));
+        assertEquals(15, stats("Computer Science").getEnrolledCredits());
+    }
+
+    @Test
+    void testCourseSavedMovesContribution() {
+        // New course, then the existing one moves to Mathematics with more credits
+        departmentStatsService.onChange(DepartmentStatsEvent.courseSaved(12L, 1L, 5));
+        departmentStatsService.onChange(DepartmentStatsEvent.courseSaved(10L, 2L, 4));
+        // Course 11 gets a department and brings its enrolled students along
+        departmentStatsService.onChange(DepartmentStatsEvent.courseSaved(11L, 2L, 4));
+
+        assertEquals(1, stats("Computer Science").getCourses());
+        assertEquals(0, stats("Computer Science").getEnrolledCredits());
+        assertEquals(2, stats("Mathematics").getCourses());
+        assertEquals(16 + 8, stats("Mathematics").getEnrolledCredits());
+    }
+
+    @Test
+    void testCourseAndDepartmentRemoved() {
+        departmentStatsService.onChange(DepartmentStatsEvent.courseRemoved(10L));
+        assertEquals(0, stats("Computer Science").getCourses());
+        assertEquals(0, stats("Computer Science").getEnrolledCredits());
+
+        // Removing a department rebuilds the counters from the database
+        when(studentRepository.countByDepartmentAndYear()).thenReturn(List.of());
+        when(teacherRepository.countByDepartment()).thenReturn(List.of());
+        when(courseRepository.findEnrollmentTotals()).thenReturn(rows(
+                new Object[] { 11L, 2L, 4, 1 }));
+        departmentStatsService.onChange(DepartmentStatsEvent.departmentRemoved(1L));
+        assertEquals(0, stats("Computer Science").getStudents());
+        assertEquals(0, stats("Computer Science").getTeachers());
+        assertEquals(4, stats("Mathematics").getEnrolledCredits());
+    }
+
+    @Test
+    void testRefreshReplacesDriftedCounters() {
+        departmentStatsService.onChange(DepartmentStatsEvent.studentAdded(1L, 1));
+        assertEquals(5, stats("Computer Science").getStudents());
+
+        departmentStatsService.refresh();
+
+        assertEquals(4, stats("Computer Science").getStudents());
+        verify(studentRepository, times(2)).countByDepartmentAndYear();
+    }
+
+    private DepartmentStatsDTO stats(String departmentName) {
+        return departmentStatsService.getStats().stream()
+                .filter(stats -> stats.getDepartmentName().equals(departmentName))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return Arrays.asList(rows);
+    }
+}
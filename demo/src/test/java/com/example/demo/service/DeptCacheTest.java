@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DeptDTO;
+import com.example.demo.entity.Dept;
+import com.example.demo.repository.DeptRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: cache puts are deferred until commit, so every call must commit on its own
+@SpringBootTest
+class DeptCacheTest {
+
+    @Autowired
+    private DeptService deptService;
+
+    @Autowired
+    private DeptRepository deptRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private DeptDTO department;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        department = deptService.createDepartment(DeptDTO.builder()
+                .name("Cache Test Dept")
+                .description("Before")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        deptService.deleteDepartment(department.getId());
+    }
+
+    @Test
+    void testRepeatedLookupsRunNoQueries() {
+        deptService.getAllDepartments();
+        deptService.getDepartmentById(department.getId());
+        deptRepository.findById(department.getId());
+
+        statistics.clear();
+        assertTrue(deptService.getAllDepartments().stream()
+                .anyMatch(dept -> dept.getId().equals(department.getId())));
+        assertEquals("Cache Test Dept", deptService.getDepartmentById(department.getId()).getName());
+        assertTrue(deptRepository.findById(department.getId()).isPresent());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testUpdateEvictsCachedEntries() {
+        deptService.getAllDepartments();
+        deptService.getDepartmentById(department.getId());
+        deptRepository.findById(department.getId());
+
+        deptService.updateDepartment(department.getId(), DeptDTO.builder()
+                .name("Cache Test Dept")
+                .description("After")
+                .build());
+
+        assertEquals("After", deptService.getDepartmentById(department.getId()).getDescription());
+        Dept entity = deptRepository.findById(department.getId()).orElseThrow();
+        assertEquals("After", entity.getDescription());
+        assertTrue(deptService.getAllDepartments().stream()
+                .anyMatch(dept -> "After".equals(dept.getDescription())));
+    }
+
+    @Test
+    void testCreateEvictsDepartmentList() {
+        deptService.getAllDepartments();
+
+        DeptDTO second = deptService.createDepartment(DeptDTO.builder()
+                .name("Cache Test Dept 2")
+                .build());
+        try {
+            assertTrue(deptService.getAllDepartments().stream()
+                    .anyMatch(dept -> dept.getId().equals(second.getId())));
+        } finally {
+            deptService.deleteDepartment(second.getId());
+        }
+    }
+
+    @Test
+    void testMissingDepartmentIsNotCached() {
+        assertTrue(deptRepository.findById(-1L).isEmpty());
+
+        statistics.clear();
+        assertTrue(deptRepository.findById(-1L).isEmpty());
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+    }
+}
@@ -2,13 +2,19 @@ package com.example.demo.service;
 
 import com.example.demo.dto.DeptDTO;
 import com.example.demo.entity.Dept;
+import com.example.demo.repository.CourseRepository;
 import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.EnrollmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.repository.TeacherRepository;
+import com.example.demo.security.UserCredentialsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -22,6 +28,24 @@ class DeptServiceTest {
     @Mock
     private DeptRepository deptRepository;
 
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private UserCredentialsCache userCredentialsCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DeptService deptService;
 
@@ -104,7 +128,8 @@ class DeptServiceTest {
 
     @Test
     void testUpdateDepartment_Success() {
-        when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
+        when(deptRepository.existsById(1L)).thenReturn(true);
+        when(deptRepository.getReferenceById(1L)).thenReturn(department);
         when(deptRepository.save(any(Dept.class))).thenReturn(department);
 
         deptDTO.setDescription("Updated CS Department");
@@ -113,11 +138,12 @@ class DeptServiceTest {
 
         assertNotNull(result);
         verify(deptRepository, times(1)).save(any(Dept.class));
+        verify(deptRepository, never()).findById(anyLong());
     }
 
     @Test
     void testUpdateDepartment_NotFound() {
-        when(deptRepository.findById(1L)).thenReturn(Optional.empty());
+        when(deptRepository.existsById(1L)).thenReturn(false);
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> deptService.updateDepartment(1L, deptDTO));
@@ -129,11 +155,25 @@ class DeptServiceTest {
     @Test
     void testDeleteDepartment_Success() {
         when(deptRepository.existsById(1L)).thenReturn(true);
+        when(teacherRepository.findIdsByDepartmentId(1L)).thenReturn(List.of(7L, 8L));
+        // Two of the department's students hold seats in course 20, one in its own course 21
+        when(enrollmentRepository.countSeatsByCourseForDepartment(1L)).thenReturn(Arrays.asList(
+                new Object[] { 20L, 2L },
+                new Object[] { 21L, 1L }));
+        when(courseRepository.addEnrolled(20L, -2)).thenReturn(1);
+        when(courseRepository.addEnrolled(21L, -1)).thenReturn(0);
+        when(studentRepository.findUsernamesByDepartmentId(1L)).thenReturn(List.of("ann"));
+        when(teacherRepository.findUsernamesByDepartmentId(1L)).thenReturn(List.of("bob"));
         doNothing().when(deptRepository).deleteById(1L);
 
         deptService.deleteDepartment(1L);
 
         verify(deptRepository, times(1)).deleteById(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(SeatReleasedEvent.class));
+        verify(userCredentialsCache).evict("ann");
+        verify(userCredentialsCache).evict("bob");
+        verify(eventPublisher, times(1)).publishEvent(any(DepartmentStatsEvent.class));
+        verify(eventPublisher, times(2)).publishEvent(any(TeacherChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,121 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EnrollmentStatus;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Dept;
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.EnrollmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.repository.WaitlistRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: every enrollment must commit in its own transaction to race for seats
+@SpringBootTest
+class EnrollmentConcurrencyTest {
+
+    private static final int CAPACITY = 5;
+    private static final int STUDENTS = 20;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DeptRepository deptRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    private Dept department;
+    private Course course;
+    private final List<Student> students = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        department = deptRepository.save(Dept.builder()
+                .name("Concurrency Test Dept")
+                .build());
+
+        course = new Course();
+        course.setName("Hot Section");
+        course.setCode("HOT101");
+        course.setCapacity(CAPACITY);
+        course.setDepartment(department);
+        course = courseRepository.save(course);
+
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(studentRepository.save(Student.builder()
+                    .username("racer" + i)
+                    .password("password123")
+                    .email("racer" + i + "@example.com")
+                    .lastName("Racer")
+                    .studentId("RACE" + i)
+                    .role(Role.STUDENT)
+                    .enabled(true)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        students.forEach(student -> studentRepository.deleteById(student.getId()));
+        courseRepository.deleteById(course.getId());
+        deptRepository.deleteById(department.getId());
+    }
+
+    @Test
+    void testConcurrentEnrollmentNeverOversubscribes() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(STUDENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EnrollmentStatus>> attempts = new ArrayList<>();
+        for (Student student : students) {
+            attempts.add(pool.submit(() -> {
+                start.await();
+                return studentService.enrollInCourse(student.getId(), course.getId());
+            }));
+        }
+        start.countDown();
+
+        int enrolled = 0;
+        int waitlisted = 0;
+        for (Future<EnrollmentStatus> attempt : attempts) {
+            if (attempt.get(30, TimeUnit.SECONDS) == EnrollmentStatus.ENROLLED) {
+                enrolled++;
+            } else {
+                waitlisted++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(CAPACITY, enrolled);
+        assertEquals(STUDENTS - CAPACITY, waitlisted);
+        assertEquals(CAPACITY, courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount());
+        assertEquals(CAPACITY, enrollmentRepository.count());
+        assertEquals(STUDENTS - CAPACITY, waitlistRepository.count());
+    }
+}
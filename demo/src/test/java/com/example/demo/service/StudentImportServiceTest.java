@@ -0,0 +1,137 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.StudentImportResult;
+import com.example.demo.entity.Dept;
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A small chunk size so that the test crosses chunk boundaries
+@SpringBootTest(properties = "app.import.chunk-size=2")
+@Transactional
+class StudentImportServiceTest {
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DeptRepository deptRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Dept department;
+
+    @BeforeEach
+    void setUp() {
+        department = deptRepository.save(Dept.builder()
+                .name("Import Test Dept")
+                .build());
+
+        studentRepository.save(Student.builder()
+                .username("existing.student")
+                .password("password123")
+                .email("existing@example.com")
+                .studentId("IMP000")
+                .role(Role.STUDENT)
+                .enabled(true)
+                .build());
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testImportStudents_ValidRows() throws Exception {
+        StudentImportResult result = studentImportService.importStudents(csv(
+                "username,password,email,firstName,lastName,studentId,year,department,address\n"
+                        + "alice,secret1,alice@example.com,Alice,Smith,IMP001,1,Import Test Dept,\"1 Main St, Springfield\"\n"
+                        + "bob,secret2,bob@example.com,Bob,Jones,IMP002,2,import test dept,\n"
+                        + "carol,secret3,carol@example.com,Carol,Brown,IMP003,,,\n"));
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+
+        Student alice = studentRepository.findByStudentId("IMP001").orElseThrow();
+        assertEquals("alice", alice.getUsername());
+        assertEquals("Smith", alice.getLastName());
+        assertEquals(1, alice.getYear());
+        assertEquals("1 Main St, Springfield", alice.getAddress());
+        assertEquals(department.getId(), alice.getDepartment().getId());
+        assertEquals(Role.STUDENT, alice.getRole());
+        assertTrue(alice.isEnabled());
+        assertTrue(passwordEncoder.matches("secret1", alice.getPassword()));
+
+        assertEquals(department.getId(), studentRepository.findByStudentId("IMP002").orElseThrow()
+                .getDepartment().getId());
+        assertNull(studentRepository.findByStudentId("IMP003").orElseThrow().getDepartment());
+    }
+
+    @Test
+    void testImportStudents_ReportsRowErrors() throws Exception {
+        StudentImportResult result = studentImportService.importStudents(csv(
+                "username,password,email,studentId,year,department\n"
+                        + "existing.student,secret,new@example.com,IMP010,,\n"
+                        + "dave,secret,existing@example.com,IMP011,,\n"
+                        + "erin,secret,erin@example.com,IMP000,,\n"
+                        + "frank,,frank@example.com,IMP012,,\n"
+                        + "grace,secret,grace@example.com,IMP013,first,\n"
+                        + "heidi,secret,heidi@example.com,IMP014,,Unknown Dept\n"
+                        + "ivan,secret,ivan@example.com,IMP015,,\n"
+                        + "ivan,secret,ivan2@example.com,IMP016,,\n"));
+
+        assertEquals(8, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(7, result.getFailed());
+        assertTrue(studentRepository.findByStudentId("IMP015").isPresent());
+
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().contains("Username existing.student already exists"));
+        assertTrue(result.getErrors().get(1).getMessage().contains("Email existing@example.com already exists"));
+        assertTrue(result.getErrors().get(2).getMessage().contains("Student ID IMP000 already exists"));
+        assertTrue(result.getErrors().get(3).getMessage().contains("Missing value for password"));
+        assertTrue(result.getErrors().get(4).getMessage().contains("Invalid year"));
+        assertTrue(result.getErrors().get(5).getMessage().contains("Department not found"));
+        assertEquals(9, result.getErrors().get(6).getLine());
+        assertTrue(result.getErrors().get(6).getMessage().contains("Duplicate username ivan"));
+    }
+
+    @Test
+    void testImportStudents_HashesAtImportCostForRehashOnLogin() throws Exception {
+        studentImportService.importStudents(csv(
+                "username,password,email,studentId\n"
+                        + "judy,secret,judy@example.com,IMP020\n"));
+
+        String hash = studentRepository.findByStudentId("IMP020").orElseThrow().getPassword();
+        assertTrue(hash.startsWith("$2a$06$"));
+        assertTrue(passwordEncoder.matches("secret", hash));
+        // Differs from the calibrated cost, so the first login re-encodes it
+        assertTrue(passwordEncoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void testImportStudents_MissingColumn() {
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> studentImportService.importStudents(csv("username,password,email\nalice,secret,a@example.com\n")));
+
+        assertTrue(exception.getMessage().contains("Missing required column: studentid"));
+    }
+}
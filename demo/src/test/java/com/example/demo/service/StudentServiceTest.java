@@ -1,20 +1,32 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.EnrollmentStatus;
 import com.example.demo.dto.StudentDTO;
+import com.example.demo.dto.StudentPage;
+import com.example.demo.dto.StudentSearchPage;
 import com.example.demo.entity.Course;
 import com.example.demo.entity.Dept;
+import com.example.demo.entity.Enrollment;
+import com.example.demo.entity.EnrollmentId;
 import com.example.demo.entity.Role;
 import com.example.demo.entity.Student;
+import com.example.demo.entity.WaitlistEntry;
 import com.example.demo.repository.CourseRepository;
 import com.example.demo.repository.DeptRepository;
+import com.example.demo.repository.EnrollmentRepository;
 import com.example.demo.repository.StudentRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.search.StudentSearch;
+import com.example.demo.security.UserCredentialsCache;
+import com.example.demo.repository.WaitlistRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.*;
@@ -36,11 +48,23 @@ class StudentServiceTest {
     private CourseRepository courseRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserCredentialsCache userCredentialsCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StudentSearch studentSearch;
+
     @InjectMocks
     private StudentService studentService;
 
@@ -96,14 +120,95 @@ class StudentServiceTest {
 
     @Test
     void testGetAllStudents() {
-        when(studentRepository.findAll()).thenReturn(Arrays.asList(student));
+        when(studentRepository.findAllSummaries()).thenReturn(Arrays.asList(studentDTO));
 
         List<StudentDTO> result = studentService.getAllStudents();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("john.doe", result.get(0).getUsername());
-        verify(studentRepository, times(1)).findAll();
+        verify(studentRepository, times(1)).findAllSummaries();
+        verify(studentRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetStudentPage_FirstPageHasNextCursor() {
+        StudentDTO second = StudentDTO.builder()
+                .id(2L)
+                .username("jane.roe")
+                .lastName("Roe")
+                .build();
+        when(studentRepository.findFirstPageAscending(any(Pageable.class)))
+                .thenReturn(Arrays.asList(studentDTO, second));
+
+        StudentPage page = studentService.getStudentPage(null, null, 1, "asc");
+
+        assertEquals(1, page.getStudents().size());
+        assertEquals("john.doe", page.getStudents().get(0).getUsername());
+        assertNotNull(page.getNextCursor());
+        assertNull(page.getPrevCursor());
+    }
+
+    @Test
+    void testGetStudentPage_NextCursorSeeksPastLastRow() {
+        when(studentRepository.findFirstPageAscending(any(Pageable.class)))
+                .thenReturn(Arrays.asList(studentDTO, studentDTO));
+        String cursor = studentService.getStudentPage(null, null, 1, "asc").getNextCursor();
+        when(studentRepository.findPageAfter(eq("Doe"), eq(1L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        StudentPage page = studentService.getStudentPage(cursor, null, 1, "asc");
+
+        assertTrue(page.getStudents().isEmpty());
+        assertNull(page.getNextCursor());
+        verify(studentRepository).findPageAfter(eq("Doe"), eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void testGetStudentPage_ClampsPageSize() {
+        when(studentRepository.findFirstPageDescending(any(Pageable.class))).thenReturn(Arrays.asList(studentDTO));
+
+        StudentPage page = studentService.getStudentPage(null, null, 10_000, "desc");
+
+        assertEquals(StudentService.MAX_PAGE_SIZE, page.getSize());
+        assertEquals("desc", page.getSort());
+        verify(studentRepository).findFirstPageDescending(
+                argThat((Pageable limit) -> limit.getPageSize() == StudentService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetStudentPage_InvalidCursor() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> studentService.getStudentPage("%%%", null, 20, "asc"));
+
+        assertTrue(exception.getMessage().contains("Invalid page cursor"));
+    }
+
+    @Test
+    void testSearchStudents_HasNextPage() {
+        List<StudentDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            rows.add(StudentDTO.builder().id((long) i).lastName("Doe").build());
+        }
+        when(studentSearch.search("doe", 40, 21)).thenReturn(rows);
+
+        StudentSearchPage page = studentService.searchStudents("doe", 2, 20);
+
+        assertEquals(20, page.getStudents().size());
+        assertTrue(page.isHasNext());
+        assertEquals(2, page.getPage());
+        assertEquals("doe", page.getQuery());
+    }
+
+    @Test
+    void testSearchStudents_LastPage() {
+        when(studentSearch.search("doe", 0, 21)).thenReturn(List.of(studentDTO));
+
+        StudentSearchPage page = studentService.searchStudents("doe", -1, 20);
+
+        assertEquals(1, page.getStudents().size());
+        assertFalse(page.isHasNext());
+        assertEquals(0, page.getPage());
     }
 
     @Test
@@ -152,75 +257,98 @@ class StudentServiceTest {
 
     @Test
     void testGetStudentsByDepartment() {
-        when(studentRepository.findByDepartmentId(1L)).thenReturn(Arrays.asList(student));
+        when(studentRepository.findSummariesByDepartmentId(1L)).thenReturn(Arrays.asList(studentDTO));
 
         List<StudentDTO> result = studentService.getStudentsByDepartment(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(studentRepository, times(1)).findByDepartmentId(1L);
+        verify(studentRepository, times(1)).findSummariesByDepartmentId(1L);
     }
 
     @Test
     void testCreateStudent_Success() {
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(studentRepository.existsByStudentId(anyString())).thenReturn(false);
+        when(studentRepository.findConflictingFields("john.doe", "john.doe@example.com", "STU001")).thenReturn(List.of());
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
         when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(student);
 
         StudentDTO result = studentService.createStudent(studentDTO);
 
         assertNotNull(result);
         assertEquals("john.doe", result.getUsername());
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).saveAndFlush(any(Student.class));
         verify(passwordEncoder, times(1)).encode(anyString());
     }
 
     @Test
     void testCreateStudent_UsernameExists() {
-        when(userRepository.existsByUsername("john.doe")).thenReturn(true);
+        when(studentRepository.findConflictingFields("john.doe", "john.doe@example.com", "STU001")).thenReturn(List.of("username"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> studentService.createStudent(studentDTO));
 
         assertTrue(exception.getMessage().contains("Username"));
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
     }
 
     @Test
     void testCreateStudent_EmailExists() {
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail("john.doe@example.com")).thenReturn(true);
+        when(studentRepository.findConflictingFields("john.doe", "john.doe@example.com", "STU001")).thenReturn(List.of("email"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> studentService.createStudent(studentDTO));
 
         assertTrue(exception.getMessage().contains("Email"));
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
     }
 
     @Test
     void testCreateStudent_StudentIdExists() {
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(studentRepository.existsByStudentId("STU001")).thenReturn(true);
+        when(studentRepository.findConflictingFields("john.doe", "john.doe@example.com", "STU001")).thenReturn(List.of("studentId"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> studentService.createStudent(studentDTO));
 
         assertTrue(exception.getMessage().contains("Student ID"));
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
+    }
+
+    @Test
+    void testCreateStudent_ReportsAllConflictsAtOnce() {
+        when(studentRepository.findConflictingFields("john.doe", "john.doe@example.com", "STU001"))
+                .thenReturn(List.of("username", "email", "studentId"));
+
+        DuplicateFieldException exception = assertThrows(DuplicateFieldException.class,
+                () -> studentService.createStudent(studentDTO));
+
+        assertEquals(List.of("username", "email", "studentId"), List.copyOf(exception.getFieldErrors().keySet()));
+        assertTrue(exception.getFieldErrors().get("studentId").contains("STU001"));
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void testCreateStudent_ConcurrentDuplicateMappedToField() {
+        when(studentRepository.findConflictingFields("john.doe", "john.doe@example.com", "STU001")).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
+        when(studentRepository.saveAndFlush(any(Student.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new RuntimeException("Unique index or primary key violation: PUBLIC.UK_USERS_EMAIL_INDEX_4")));
+
+        DuplicateFieldException exception = assertThrows(DuplicateFieldException.class,
+                () -> studentService.createStudent(studentDTO));
+
+        assertEquals("Email john.doe@example.com already exists", exception.getFieldErrors().get("email"));
     }
 
     @Test
     void testUpdateStudentProfile_Success() {
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(student);
         when(passwordEncoder.encode(anyString())).thenReturn("newEncodedPassword");
 
         studentDTO.setPhone("9876543210");
@@ -229,7 +357,8 @@ class StudentServiceTest {
         StudentDTO result = studentService.updateStudentProfile(1L, studentDTO, "john.doe");
 
         assertNotNull(result);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).saveAndFlush(any(Student.class));
+        verify(userCredentialsCache, times(1)).evict("john.doe");
     }
 
     @Test
@@ -240,35 +369,48 @@ class StudentServiceTest {
                 () -> studentService.updateStudentProfile(1L, studentDTO, "other.user"));
 
         assertTrue(exception.getMessage().contains("only update your own profile"));
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
     }
 
     @Test
     void testUpdateStudent_Success() {
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
         when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(student);
         when(passwordEncoder.encode(anyString())).thenReturn("newEncodedPassword");
 
         StudentDTO result = studentService.updateStudent(1L, studentDTO);
 
         assertNotNull(result);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).saveAndFlush(any(Student.class));
     }
 
     @Test
     void testDeleteStudent_Success() {
-        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
         doNothing().when(studentRepository).deleteById(1L);
 
         studentService.deleteStudent(1L);
 
         verify(studentRepository, times(1)).deleteById(1L);
+        verify(userCredentialsCache, times(1)).evict(student.getUsername());
+        verify(courseRepository, never()).releaseSeats(any());
+    }
+
+    @Test
+    void testDeleteStudent_ReleasesEnrolledSeats() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(enrollmentRepository.findCourseIdsByStudentId(1L)).thenReturn(List.of(10L, 11L));
+
+        studentService.deleteStudent(1L);
+
+        verify(courseRepository, times(1)).releaseSeats(List.of(10L, 11L));
+        verify(eventPublisher, times(2)).publishEvent(any(SeatReleasedEvent.class));
     }
 
     @Test
     void testDeleteStudent_NotFound() {
-        when(studentRepository.existsById(1L)).thenReturn(false);
+        when(studentRepository.findById(1L)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> studentService.deleteStudent(1L));
@@ -279,49 +421,123 @@ class StudentServiceTest {
 
     @Test
     void testEnrollInCourse_Success() {
-        student.setCourses(new HashSet<>());
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
-
-        StudentDTO result = studentService.enrollInCourse(1L, 1L);
-
-        assertNotNull(result);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.existsById(new EnrollmentId(1L, 1L))).thenReturn(false);
+        when(courseRepository.reserveSeat(1L)).thenReturn(1);
+        when(studentRepository.getReferenceById(1L)).thenReturn(student);
+        when(courseRepository.getReferenceById(1L)).thenReturn(course);
+
+        EnrollmentStatus status = studentService.enrollInCourse(1L, 1L);
+
+        assertEquals(EnrollmentStatus.ENROLLED, status);
+        verify(enrollmentRepository, times(1)).save(argThat((Enrollment enrollment) ->
+                enrollment.getId().equals(new EnrollmentId(1L, 1L)) && enrollment.isNew()));
+        verify(studentRepository, never()).findById(anyLong());
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
     }
 
     @Test
     void testEnrollInCourse_StudentNotFound() {
-        when(studentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(1L)).thenReturn(false);
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> studentService.enrollInCourse(1L, 1L));
 
         assertTrue(exception.getMessage().contains("Student not found"));
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
     }
 
     @Test
     void testEnrollInCourse_CourseNotFound() {
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.existsById(new EnrollmentId(1L, 1L))).thenReturn(false);
+        when(courseRepository.reserveSeat(1L)).thenReturn(0);
+        when(courseRepository.existsById(1L)).thenReturn(false);
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> studentService.enrollInCourse(1L, 1L));
 
         assertTrue(exception.getMessage().contains("Course not found"));
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+    }
+
+    @Test
+    void testEnrollInCourse_CourseFullJoinsWaitlist() {
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.existsById(new EnrollmentId(1L, 1L))).thenReturn(false);
+        when(courseRepository.reserveSeat(1L)).thenReturn(0);
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(waitlistRepository.existsByCourseIdAndStudentId(1L, 1L)).thenReturn(false);
+        when(studentRepository.getReferenceById(1L)).thenReturn(student);
+        when(courseRepository.getReferenceById(1L)).thenReturn(course);
+
+        EnrollmentStatus status = studentService.enrollInCourse(1L, 1L);
+
+        assertEquals(EnrollmentStatus.WAITLISTED, status);
+        verify(waitlistRepository, times(1)).save(any(WaitlistEntry.class));
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+    }
+
+    @Test
+    void testEnrollInCourse_AlreadyWaitlisted() {
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.existsById(new EnrollmentId(1L, 1L))).thenReturn(false);
+        when(courseRepository.reserveSeat(1L)).thenReturn(0);
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(waitlistRepository.existsByCourseIdAndStudentId(1L, 1L)).thenReturn(true);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> studentService.enrollInCourse(1L, 1L));
+
+        assertTrue(exception.getMessage().contains("already on the waitlist"));
+        verify(waitlistRepository, never()).save(any(WaitlistEntry.class));
+    }
+
+    @Test
+    void testEnrollInCourse_AlreadyEnrolled() {
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.existsById(new EnrollmentId(1L, 1L))).thenReturn(true);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> studentService.enrollInCourse(1L, 1L));
+
+        assertTrue(exception.getMessage().contains("already enrolled"));
+        verify(courseRepository, never()).reserveSeat(anyLong());
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
     }
 
     @Test
     void testUnenrollFromCourse_Success() {
-        student.setCourses(new HashSet<>(Arrays.asList(course)));
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(enrollmentRepository.deleteByStudentIdAndCourseId(1L, 1L)).thenReturn(1);
 
-        StudentDTO result = studentService.unenrollFromCourse(1L, 1L);
+        studentService.unenrollFromCourse(1L, 1L);
 
-        assertNotNull(result);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(enrollmentRepository, times(1)).deleteByStudentIdAndCourseId(1L, 1L);
+        verify(courseRepository, times(1)).releaseSeat(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(SeatReleasedEvent.class));
+        verify(studentRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testUnenrollFromCourse_LeavesWaitlist() {
+        when(enrollmentRepository.deleteByStudentIdAndCourseId(1L, 1L)).thenReturn(0);
+        when(waitlistRepository.deleteByCourseIdAndStudentId(1L, 1L)).thenReturn(1);
+
+        studentService.unenrollFromCourse(1L, 1L);
+
+        verify(courseRepository, never()).releaseSeat(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
     }
-}
 
+    @Test
+    void testUnenrollFromCourse_NotEnrolled() {
+        when(enrollmentRepository.deleteByStudentIdAndCourseId(1L, 1L)).thenReturn(0);
+        when(waitlistRepository.deleteByCourseIdAndStudentId(1L, 1L)).thenReturn(0);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> studentService.unenrollFromCourse(1L, 1L));
+
+        assertTrue(exception.getMessage().contains("not enrolled"));
+        verify(courseRepository, never()).releaseSeat(anyLong());
+    }
+}
@@ -1,18 +1,21 @@
 package com.example.demo.service;
 
 import com.example.demo.dto.TeacherDTO;
+import com.example.demo.entity.Course;
 import com.example.demo.entity.Dept;
 import com.example.demo.entity.Role;
 import com.example.demo.entity.Teacher;
 import com.example.demo.repository.DeptRepository;
 import com.example.demo.repository.TeacherRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserCredentialsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.*;
@@ -31,10 +34,13 @@ class TeacherServiceTest {
     private DeptRepository deptRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private UserCredentialsCache userCredentialsCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TeacherService teacherService;
@@ -82,14 +88,15 @@ class TeacherServiceTest {
 
     @Test
     void testGetAllTeachers() {
-        when(teacherRepository.findAll()).thenReturn(Arrays.asList(teacher));
+        when(teacherRepository.findAllSummaries()).thenReturn(Arrays.asList(teacherDTO));
 
         List<TeacherDTO> result = teacherService.getAllTeachers();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("jane.smith", result.get(0).getUsername());
-        verify(teacherRepository, times(1)).findAll();
+        verify(teacherRepository, times(1)).findAllSummaries();
+        verify(teacherRepository, never()).findAll();
     }
 
     @Test
@@ -138,65 +145,88 @@ class TeacherServiceTest {
 
     @Test
     void testCreateTeacher_Success() {
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(teacherRepository.existsByEmployeeId(anyString())).thenReturn(false);
+        when(teacherRepository.findConflictingFields("jane.smith", "jane.smith@example.com", "EMP001")).thenReturn(List.of());
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
         when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
-        when(teacherRepository.save(any(Teacher.class))).thenReturn(teacher);
+        when(teacherRepository.saveAndFlush(any(Teacher.class))).thenReturn(teacher);
 
         TeacherDTO result = teacherService.createTeacher(teacherDTO);
 
         assertNotNull(result);
         assertEquals("jane.smith", result.getUsername());
-        verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(teacherRepository, times(1)).saveAndFlush(any(Teacher.class));
         verify(passwordEncoder, times(1)).encode(anyString());
     }
 
     @Test
     void testCreateTeacher_UsernameExists() {
-        when(userRepository.existsByUsername("jane.smith")).thenReturn(true);
+        when(teacherRepository.findConflictingFields("jane.smith", "jane.smith@example.com", "EMP001")).thenReturn(List.of("username"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> teacherService.createTeacher(teacherDTO));
 
         assertTrue(exception.getMessage().contains("Username"));
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(teacherRepository, never()).save(any(Teacher.class));
+        verify(teacherRepository, never()).saveAndFlush(any(Teacher.class));
     }
 
     @Test
     void testCreateTeacher_EmailExists() {
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail("jane.smith@example.com")).thenReturn(true);
+        when(teacherRepository.findConflictingFields("jane.smith", "jane.smith@example.com", "EMP001")).thenReturn(List.of("email"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> teacherService.createTeacher(teacherDTO));
 
         assertTrue(exception.getMessage().contains("Email"));
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(teacherRepository, never()).save(any(Teacher.class));
+        verify(teacherRepository, never()).saveAndFlush(any(Teacher.class));
     }
 
     @Test
     void testCreateTeacher_EmployeeIdExists() {
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(teacherRepository.existsByEmployeeId("EMP001")).thenReturn(true);
+        when(teacherRepository.findConflictingFields("jane.smith", "jane.smith@example.com", "EMP001")).thenReturn(List.of("employeeId"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> teacherService.createTeacher(teacherDTO));
 
         assertTrue(exception.getMessage().contains("Employee ID"));
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(teacherRepository, never()).save(any(Teacher.class));
+        verify(teacherRepository, never()).saveAndFlush(any(Teacher.class));
+    }
+
+    @Test
+    void testCreateTeacher_ReportsAllConflictsAtOnce() {
+        when(teacherRepository.findConflictingFields("jane.smith", "jane.smith@example.com", "EMP001"))
+                .thenReturn(List.of("username", "email", "employeeId"));
+
+        DuplicateFieldException exception = assertThrows(DuplicateFieldException.class,
+                () -> teacherService.createTeacher(teacherDTO));
+
+        assertEquals(List.of("username", "email", "employeeId"), List.copyOf(exception.getFieldErrors().keySet()));
+        assertTrue(exception.getFieldErrors().get("employeeId").contains("EMP001"));
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void testCreateTeacher_ConcurrentDuplicateMappedToField() {
+        when(teacherRepository.findConflictingFields("jane.smith", "jane.smith@example.com", "EMP001")).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
+        when(teacherRepository.saveAndFlush(any(Teacher.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new RuntimeException("Unique index or primary key violation: PUBLIC.UK_USERS_EMAIL_INDEX_4")));
+
+        DuplicateFieldException exception = assertThrows(DuplicateFieldException.class,
+                () -> teacherService.createTeacher(teacherDTO));
+
+        assertEquals("Email jane.smith@example.com already exists", exception.getFieldErrors().get("email"));
     }
 
     @Test
     void testUpdateTeacher_Success() {
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher));
         when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
-        when(teacherRepository.save(any(Teacher.class))).thenReturn(teacher);
+        when(teacherRepository.saveAndFlush(any(Teacher.class))).thenReturn(teacher);
         when(passwordEncoder.encode(anyString())).thenReturn("newEncodedPassword");
 
         teacherDTO.setPhone("1234567890");
@@ -205,22 +235,24 @@ class TeacherServiceTest {
         TeacherDTO result = teacherService.updateTeacher(1L, teacherDTO);
 
         assertNotNull(result);
-        verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(teacherRepository, times(1)).saveAndFlush(any(Teacher.class));
+        verify(userCredentialsCache, times(1)).evict(teacher.getUsername());
     }
 
     @Test
     void testUpdateTeacher_WithoutPassword() {
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher));
         when(deptRepository.findById(1L)).thenReturn(Optional.of(department));
-        when(teacherRepository.save(any(Teacher.class))).thenReturn(teacher);
+        when(teacherRepository.saveAndFlush(any(Teacher.class))).thenReturn(teacher);
 
         teacherDTO.setPassword(null);
 
         TeacherDTO result = teacherService.updateTeacher(1L, teacherDTO);
 
         assertNotNull(result);
-        verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(teacherRepository, times(1)).saveAndFlush(any(Teacher.class));
         verify(passwordEncoder, never()).encode(anyString());
+        verify(userCredentialsCache, never()).evict(anyString());
     }
 
     @Test
@@ -231,22 +263,28 @@ class TeacherServiceTest {
                 () -> teacherService.updateTeacher(1L, teacherDTO));
 
         assertTrue(exception.getMessage().contains("Teacher not found"));
-        verify(teacherRepository, never()).save(any(Teacher.class));
+        verify(teacherRepository, never()).saveAndFlush(any(Teacher.class));
     }
 
     @Test
     void testDeleteTeacher_Success() {
-        when(teacherRepository.existsById(1L)).thenReturn(true);
+        Course course = new Course();
+        course.setId(5L);
+        teacher.getCourses().add(course);
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher));
         doNothing().when(teacherRepository).deleteById(1L);
 
         teacherService.deleteTeacher(1L);
 
         verify(teacherRepository, times(1)).deleteById(1L);
+        verify(userCredentialsCache, times(1)).evict(teacher.getUsername());
+        // The cascaded course leaves the department statistics along with the teacher
+        verify(eventPublisher, times(2)).publishEvent(any(DepartmentStatsEvent.class));
     }
 
     @Test
     void testDeleteTeacher_NotFound() {
-        when(teacherRepository.existsById(1L)).thenReturn(false);
+        when(teacherRepository.findById(1L)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> teacherService.deleteTeacher(1L));
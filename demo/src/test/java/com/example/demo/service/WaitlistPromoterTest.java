@@ -0,0 +1,42 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistPromoterTest {
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @InjectMocks
+    private WaitlistPromoter waitlistPromoter;
+
+    @Test
+    void testPromotesCoursesFoundInDatabaseWithoutEvent() {
+        when(waitlistService.findCoursesToPromote()).thenReturn(List.of(7L));
+        when(waitlistService.promoteNext(7L, 50)).thenReturn(new WaitlistService.Promotion(1, 1));
+
+        waitlistPromoter.promotePending();
+
+        verify(waitlistService).promoteNext(7L, 50);
+    }
+
+    @Test
+    void testEventsAreServedWhenLookupFails() {
+        when(waitlistService.findCoursesToPromote()).thenThrow(new IllegalStateException("database down"));
+        when(waitlistService.promoteNext(8L, 50)).thenReturn(WaitlistService.Promotion.NONE);
+
+        waitlistPromoter.onSeatReleased(new SeatReleasedEvent(8L));
+        waitlistPromoter.promotePending();
+
+        verify(waitlistService).promoteNext(8L, 50);
+    }
+}
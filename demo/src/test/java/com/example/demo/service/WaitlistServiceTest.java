@@ -0,0 +1,139 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Dept;
+import com.example.demo.entity.Enrollment;
+import com.example.demo.entity.EnrollmentId;
+import com.example.demo.entity.Role;
+import com.example.demo.entity.Student;
+import com.example.demo.entity.WaitlistEntry;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.EnrollmentRepository;
+import com.example.demo.repository.WaitlistRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class WaitlistServiceTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Course course;
+    private final List<Student> queue = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Dept department = Dept.builder()
+                .name("Waitlist Test Dept")
+                .build();
+        entityManager.persist(department);
+
+        course = new Course();
+        course.setName("Popular Seminar");
+        course.setCode("WAIT101");
+        course.setCapacity(2);
+        course.setDepartment(department);
+        entityManager.persist(course);
+
+        LocalDateTime joinedAt = LocalDateTime.now().minusMinutes(10);
+        for (int i = 0; i < 3; i++) {
+            Student student = Student.builder()
+                    .username("queued" + i)
+                    .password("password123")
+                    .email("queued" + i + "@example.com")
+                    .lastName("Queued")
+                    .studentId("WAIT" + i)
+                    .role(Role.STUDENT)
+                    .enabled(true)
+                    .build();
+            entityManager.persist(student);
+            queue.add(student);
+
+            WaitlistEntry entry = new WaitlistEntry(student, course);
+            entry.setJoinedAt(joinedAt.plusMinutes(i));
+            entityManager.persist(entry);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void testPromoteNext_FillsFreeSeatsInQueueOrder() {
+        int promoted = waitlistService.promoteNext(course.getId(), 50).promoted();
+
+        assertEquals(2, promoted);
+        assertTrue(enrollmentRepository.existsById(new EnrollmentId(queue.get(0).getId(), course.getId())));
+        assertTrue(enrollmentRepository.existsById(new EnrollmentId(queue.get(1).getId(), course.getId())));
+        assertFalse(enrollmentRepository.existsById(new EnrollmentId(queue.get(2).getId(), course.getId())));
+        assertTrue(waitlistRepository.existsByCourseIdAndStudentId(course.getId(), queue.get(2).getId()));
+        assertEquals(1, waitlistRepository.count());
+        assertEquals(2, courseRepository.findSummaryById(course.getId()).orElseThrow().getEnrolledCount());
+    }
+
+    @Test
+    void testPromoteNext_RespectsBatchSize() {
+        int promoted = waitlistService.promoteNext(course.getId(), 1).promoted();
+
+        assertEquals(1, promoted);
+        assertTrue(enrollmentRepository.existsById(new EnrollmentId(queue.get(0).getId(), course.getId())));
+        assertEquals(2, waitlistRepository.count());
+    }
+
+    @Test
+    void testPromoteNext_ReportsSkippedEntries() {
+        // Enrolled behind the waitlist's back: their entry is dropped without taking a seat
+        entityManager.persist(new Enrollment(queue.get(0), course));
+        entityManager.flush();
+
+        WaitlistService.Promotion promotion = waitlistService.promoteNext(course.getId(), 50);
+
+        assertEquals(1, promotion.promoted());
+        assertEquals(2, promotion.dequeued());
+        assertTrue(waitlistRepository.existsByCourseIdAndStudentId(course.getId(), queue.get(2).getId()));
+    }
+
+    @Test
+    void testFindCoursesToPromote_OnlyWhileSeatsAreFree() {
+        assertTrue(waitlistService.findCoursesToPromote().contains(course.getId()));
+
+        waitlistService.promoteNext(course.getId(), 50);
+        entityManager.clear();
+
+        // Full, with one student still waiting
+        assertFalse(waitlistService.findCoursesToPromote().contains(course.getId()));
+    }
+
+    @Test
+    void testPromoteNext_NoFreeSeats() {
+        waitlistService.promoteNext(course.getId(), 50);
+        // The bulk update bypasses the persistence context; reload the course as a fresh transaction would
+        entityManager.clear();
+
+        assertEquals(WaitlistService.Promotion.NONE, waitlistService.promoteNext(course.getId(), 50));
+        assertEquals(1, waitlistRepository.count());
+    }
+}
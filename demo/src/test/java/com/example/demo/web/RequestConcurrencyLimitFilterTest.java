@@ -0,0 +1,51 @@
+package com.example.demo.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestConcurrencyLimitFilter filter =
+            new RequestConcurrencyLimitFilter(1, Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    void testPermitReleasedWhenRequestReturns() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> { });
+
+        assertEquals(1, availablePermits());
+    }
+
+    @Test
+    void testStreamedResponseHoldsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest export = request();
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // The first dispatch has returned but the export is still streaming
+        assertEquals(0, availablePermits());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request(), rejected, (request, response) -> fail("should not run without a permit"));
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, rejected.getStatus());
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        assertEquals(1, availablePermits());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/students");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private double availablePermits() {
+        return meterRegistry.get("http.server.requests.limiter.available").gauge().value();
+    }
+}